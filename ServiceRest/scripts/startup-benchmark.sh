@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Mesure du temps de démarrage (jusqu'à readiness UP) et de la RSS de ServiceRest selon le mode d'exécution.
+#
+# Prérequis (depuis ServiceRest/), chaque mode a son propre artefact:
+#   jar    : mvn package                  -> target/ServiceRest-<version>.jar
+#   cds    : mvn -Pcds package            -> target/cds/ServiceRest-<version>-cds.jar + target/cds/application.jsa
+#   aot    : mvn -Paot package            -> target/ServiceRest-<version>-aot.jar (spring.aot.enabled=true)
+#   native : mvn -Pnative native:compile  -> target/service-rest
+#
+# Usage: scripts/startup-benchmark.sh [runs=5] [modes="jar cds aot native"]
+# Sortie: CSV "mode,run,startup_ms,rss_mb" sur stdout + résumé (médianes) sur stderr.
+# Un démarrage qui échoue (arrêt du processus, délai STARTUP_TIMEOUT_S dépassé) n'est pas compté;
+# la sortie de chaque démarrage est dans target/startup-benchmark/<mode>-<run>.log.
+set -euo pipefail
+
+RUNS="${1:-5}"
+MODES="${2:-jar cds aot native}"
+PORT="${PORT:-18081}"
+STARTUP_TIMEOUT_S="${STARTUP_TIMEOUT_S:-300}"
+cd "$(dirname "$0")/.."
+
+JAR="$(ls target/ServiceRest-*.jar 2>/dev/null | grep -Ev -- '-(aot|cds)\.jar$' | head -1 || true)"
+AOT_JAR="$(ls target/ServiceRest-*-aot.jar 2>/dev/null | head -1 || true)"
+CDS_JAR="$(ls target/cds/ServiceRest-*-cds.jar 2>/dev/null | head -1 || true)"
+APP_ARGS=(--server.port="$PORT" --snapshot.enabled=false --history.file.path= --csv.import.async=false)
+# Arrow sur Java 17+ (aussi présent dans le manifeste du jar, explicite pour les modes JVM)
+JVM_OPTS="--add-opens=java.base/java.nio=ALL-UNNAMED"
+LOG_DIR=target/startup-benchmark
+mkdir -p "$LOG_DIR"
+
+command_for() {
+  case "$1" in
+    jar)    [ -n "$JAR" ] && echo "java $JVM_OPTS -jar $JAR" ;;
+    cds)    [ -n "$CDS_JAR" ] && [ -f target/cds/application.jsa ] && \
+              echo "java $JVM_OPTS -XX:SharedArchiveFile=target/cds/application.jsa -jar $CDS_JAR" ;;
+    aot)    [ -n "$AOT_JAR" ] && echo "java $JVM_OPTS -Dspring.aot.enabled=true -jar $AOT_JAR" ;;
+    native) [ -x target/service-rest ] && echo "target/service-rest" ;;
+  esac
+}
+
+now_ms() { date +%s%3N; }
+
+echo "mode,run,startup_ms,rss_mb"
+for mode in $MODES; do
+  cmd="$(command_for "$mode" || true)"
+  if [ -z "$cmd" ]; then
+    echo "mode $mode: artefact absent, ignoré" >&2
+    continue
+  fi
+  results=()
+  failures=0
+  for run in $(seq 1 "$RUNS"); do
+    log="$LOG_DIR/$mode-$run.log"
+    start=$(now_ms)
+    deadline=$(( start + STARTUP_TIMEOUT_S * 1000 ))
+    $cmd "${APP_ARGS[@]}" >"$log" 2>&1 &
+    pid=$!
+    ready=1
+    until curl -fs "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "mode $mode, run $run: le processus s'est arrêté avant la readiness (voir $log)" >&2
+        ready=0; break
+      fi
+      if [ "$(now_ms)" -ge "$deadline" ]; then
+        echo "mode $mode, run $run: readiness non atteinte en ${STARTUP_TIMEOUT_S}s (voir $log)" >&2
+        ready=0; break
+      fi
+      sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2>/dev/null || echo 0)
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [ "$ready" -eq 0 ]; then
+      failures=$(( failures + 1 ))
+      continue
+    fi
+    echo "$mode,$run,$elapsed,$(( rss_kb / 1024 ))"
+    results+=("$elapsed $(( rss_kb / 1024 ))")
+  done
+  if [ "${#results[@]}" -eq 0 ]; then
+    echo "$mode aucun démarrage réussi ($failures échecs)" >&2
+    continue
+  fi
+  printf '%s\n' "${results[@]}" | sort -n | awk -v m="$mode" -v f="$failures" '{t[NR]=$1; r[NR]=$2} END {
+    i=int((NR+1)/2); printf "%-7s médiane démarrage %6d ms, RSS %5d Mo (%d/%d réussis)\n", m, t[i], r[i], NR, NR+f }' >&2
+done
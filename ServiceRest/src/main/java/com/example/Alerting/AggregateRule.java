@@ -0,0 +1,119 @@
+package com.example.Alerting;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seuil sur un agrégat par groupe (ville, type ou global).
+ *
+ * Les agrégats sont tenus à jour par différence: on retire l'ancienne contribution de l'hôpital
+ * et on ajoute la nouvelle, puis seuls l'ancien et le nouveau groupe sont réévalués.
+ * SUM / AVG / COUNT restent exacts (valeurs entières); un groupe vide n'est jamais en alerte.
+ */
+public class AggregateRule extends AlertRule {
+
+    private record Contribution(String group, double value) {}
+
+    private static final class Group {
+        double sum;
+        int count;
+        boolean firing;
+    }
+
+    private final AlertRuleDefinition.Aggregation aggregation;
+    private final AlertRuleDefinition.GroupBy groupBy;
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Map<String, Group> groups = new HashMap<>();
+
+    public AggregateRule(long id, AlertRuleDefinition definition) {
+        super(id, definition);
+        this.aggregation = definition.aggregation() != null ? definition.aggregation() : AlertRuleDefinition.Aggregation.SUM;
+        this.groupBy = definition.groupBy() != null ? definition.groupBy() : AlertRuleDefinition.GroupBy.NONE;
+    }
+
+    @Override
+    public int getFiringCount() {
+        int count = 0;
+        for (Group group : groups.values()) {
+            if (group.firing) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void update(long hospitalId, HospitalState previous, HospitalState current, Instant now, List<Alert> out) {
+        Contribution old = contributions.remove(hospitalId);
+        if (old != null) {
+            Group group = groups.get(old.group());
+            group.sum -= old.value();
+            group.count--;
+        }
+
+        String newGroup = null;
+        double value = current != null ? current.value(metric) : Double.NaN;
+        if (matches(current) && !Double.isNaN(value)) {
+            newGroup = groupKey(current);
+            contributions.put(hospitalId, new Contribution(newGroup, value));
+            Group group = groups.computeIfAbsent(newGroup, k -> new Group());
+            group.sum += value;
+            group.count++;
+        }
+
+        if (old != null) {
+            evaluate(old.group(), now, out);
+        }
+        if (newGroup != null && (old == null || !newGroup.equals(old.group()))) {
+            evaluate(newGroup, now, out);
+        }
+    }
+
+    @Override
+    public void reset() {
+        contributions.clear();
+        groups.clear();
+    }
+
+    private void evaluate(String key, Instant now, List<Alert> out) {
+        Group group = groups.get(key);
+        double value = aggregate(group);
+        boolean violating = comparison.test(value, definition.threshold());
+        String label = aggregation + "(" + metric.getField() + ")";
+
+        if (violating && !group.firing) {
+            group.firing = true;
+            out.add(alert(Alert.State.FIRING, key, value, now,
+                    key + ": " + label + " = " + format(value) + " " + comparison.getSymbol()
+                            + " " + format(definition.threshold()) + " (" + group.count + " hôpitaux)"));
+        } else if (!violating && group.firing) {
+            group.firing = false;
+            out.add(alert(Alert.State.RESOLVED, key, value, now,
+                    key + ": " + label + (Double.isNaN(value) ? " sans données" : " revenu à " + format(value))));
+        }
+        if (group.count == 0 && !group.firing) {
+            groups.remove(key);
+        }
+    }
+
+    private double aggregate(Group group) {
+        if (group.count == 0) return Double.NaN;
+        switch (aggregation) {
+            case AVG: return group.sum / group.count;
+            case COUNT: return group.count;
+            default: return group.sum;
+        }
+    }
+
+    private String groupKey(HospitalState state) {
+        switch (groupBy) {
+            case VILLE: return "ville:" + normalize(state.ville());
+            case TYPE: return "type:" + normalize(state.type());
+            default: return "*";
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? "?" : value.trim();
+    }
+}
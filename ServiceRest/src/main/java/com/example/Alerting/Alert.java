@@ -0,0 +1,17 @@
+package com.example.Alerting;
+
+import java.time.Instant;
+
+// Alerte émise sur changement d'état d'une règle (FIRING à l'entrée en violation, RESOLVED à la sortie)
+public record Alert(
+        long ruleId,
+        String ruleName,
+        State state,
+        String subject, // "hospital:<id>" pour un seuil, "<groupBy>:<valeur>" pour un agrégat
+        double value,
+        double threshold,
+        Instant timestamp,
+        String message) {
+
+    public enum State { FIRING, RESOLVED }
+}
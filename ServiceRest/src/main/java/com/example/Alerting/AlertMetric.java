@@ -0,0 +1,54 @@
+package com.example.Alerting;
+
+import com.example.Model.Hospital;
+
+import java.util.function.Function;
+
+// Grandeurs surveillables par une règle d'alerte (niveau de surcharge codé 1=faible .. 4=critique).
+// litsDisponibles: lits nets des réservations en cours
+public enum AlertMetric {
+    LITS_DISPONIBLES("litsDisponibles", Hospital::getLitsDisponiblesNets),
+    LITS_OCCUPEES("litsOccupees", Hospital::getLitsOccupees),
+    TEMPS_ATTENTE_URGENCE("tempsAttenteUrgence", Hospital::getTempsAttenteUrgence),
+    NIVEAU_SURCHARGE("niveauSurcharge", h -> surchargeCode(h.getNiveauSurcharge())),
+    NB_MEDECINS_DISPONIBLES("nbMedecinsDisponibles", Hospital::getNbMedecinsDisponibles),
+    NB_INFIRMIERS_DISPONIBLES("nbInfirmiersDisponibles", Hospital::getNbInfirmiersDisponibles),
+    NB_AMBULANCES_DISPONIBLES("nbAmbulancesDisponibles", Hospital::getNbAmbulancesDisponibles),
+    RESPIRATEURS_DISPONIBLES("respirateursDisponibles", Hospital::getRespirateursDisponibles);
+
+    private final String field;
+    private final Function<Hospital, Integer> extractor;
+
+    AlertMetric(String field, Function<Hospital, Integer> extractor) {
+        this.field = field;
+        this.extractor = extractor;
+    }
+
+    public String getField() { return field; }
+
+    // NaN si la valeur est absente
+    public double valueOf(Hospital hospital) {
+        Integer value = extractor.apply(hospital);
+        return value == null ? Double.NaN : value;
+    }
+
+    public static AlertMetric fromField(String field) {
+        for (AlertMetric metric : values()) {
+            if (metric.field.equalsIgnoreCase(field) || metric.name().equalsIgnoreCase(field)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Métrique inconnue: " + field);
+    }
+
+    private static Integer surchargeCode(String niveau) {
+        if (niveau == null) return null;
+        switch (niveau.toLowerCase()) {
+            case "faible": return 1;
+            case "moyen": return 2;
+            case "élevé": return 3;
+            case "critique": return 4;
+            default: return null;
+        }
+    }
+}
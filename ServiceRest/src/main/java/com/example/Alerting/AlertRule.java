@@ -0,0 +1,73 @@
+package com.example.Alerting;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Règle d'alerte évaluée de façon incrémentale: chaque mise à jour d'un hôpital ne touche que
+ * l'état de cet hôpital dans la règle (et son groupe pour un agrégat), jamais toute la table.
+ * Les alertes sont émises sur front (entrée / sortie de violation), pas à chaque mise à jour.
+ *
+ * Non thread-safe: les appels sont sérialisés par AlertingService.
+ */
+public abstract class AlertRule {
+
+    protected final long id;
+    protected final AlertRuleDefinition definition;
+    protected final AlertMetric metric;
+    protected final Comparison comparison;
+    protected final String name;
+
+    protected AlertRule(long id, AlertRuleDefinition definition) {
+        this.id = id;
+        this.definition = definition;
+        this.metric = AlertMetric.fromField(definition.metric());
+        this.comparison = Comparison.fromSymbol(definition.operator());
+        this.name = definition.name() != null && !definition.name().isBlank()
+                ? definition.name()
+                : metric.getField() + " " + comparison.getSymbol() + " " + format(definition.threshold());
+    }
+
+    public static AlertRule create(long id, AlertRuleDefinition definition) {
+        if (definition.metric() == null || definition.operator() == null || definition.threshold() == null) {
+            throw new IllegalArgumentException("metric, operator et threshold sont obligatoires");
+        }
+        AlertRuleDefinition.Kind kind = definition.kind() != null ? definition.kind() : AlertRuleDefinition.Kind.THRESHOLD;
+        return kind == AlertRuleDefinition.Kind.AGGREGATE
+                ? new AggregateRule(id, definition)
+                : new ThresholdRule(id, definition);
+    }
+
+    public long getId() { return id; }
+    public AlertRuleDefinition getDefinition() { return definition; }
+    public AlertMetric getMetric() { return metric; }
+
+    // Nombre de sujets (hôpitaux ou groupes) actuellement en alerte
+    public abstract int getFiringCount();
+
+    // Passage de previous à current pour un hôpital (null = inconnu / supprimé); alertes émises ajoutées à out
+    public abstract void update(long hospitalId, HospitalState previous, HospitalState current,
+                                Instant now, List<Alert> out);
+
+    // Oublie tout l'état (rechargement complet des données)
+    public abstract void reset();
+
+    protected boolean matches(HospitalState state) {
+        if (state == null) return false;
+        if (definition.ville() != null && !definition.ville().equalsIgnoreCase(trim(state.ville()))) return false;
+        if (definition.type() != null && !definition.type().equalsIgnoreCase(trim(state.type()))) return false;
+        return true;
+    }
+
+    protected Alert alert(Alert.State state, String subject, double value, Instant now, String message) {
+        return new Alert(id, name, state, subject, value, definition.threshold(), now, message);
+    }
+
+    protected static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    protected static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.Alerting;
+
+/**
+ * Définition d'une règle d'alerte.
+ *
+ * kind=THRESHOLD: chaque hôpital filtré est comparé au seuil ("tempsAttenteUrgence > 90 dans tout CHU").
+ * kind=AGGREGATE: l'agrégat (SUM, AVG, COUNT) des hôpitaux filtrés, par groupe (groupBy=VILLE, TYPE ou
+ * NONE), est comparé au seuil ("moins de 5 respirateurs disponibles dans la ville X").
+ * metric, operator, threshold: obligatoires. ville / type: filtres optionnels (égalité insensible à la casse).
+ */
+public record AlertRuleDefinition(
+        String name,
+        Kind kind,
+        String metric,
+        String operator,
+        Double threshold,
+        Aggregation aggregation,
+        GroupBy groupBy,
+        String ville,
+        String type) {
+
+    public enum Kind { THRESHOLD, AGGREGATE }
+
+    public enum Aggregation { SUM, AVG, COUNT }
+
+    public enum GroupBy { NONE, VILLE, TYPE }
+}
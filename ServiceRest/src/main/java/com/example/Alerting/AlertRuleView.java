@@ -0,0 +1,9 @@
+package com.example.Alerting;
+
+// Règle enregistrée, telle que renvoyée par GET /api/alerts/rules
+public record AlertRuleView(long id, AlertRuleDefinition definition, int firing) {
+
+    public static AlertRuleView of(AlertRule rule) {
+        return new AlertRuleView(rule.getId(), rule.getDefinition(), rule.getFiringCount());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.Alerting;
+
+// Destination des alertes (log, mémoire, webhook...): tout bean AlertSink reçoit chaque alerte.
+// Appelé par un seul fil à la fois, dans l'ordre de production des alertes, par le fil d'une mutation:
+// une implémentation lente doit déléguer à un exécuteur.
+public interface AlertSink {
+
+    void publish(Alert alert);
+}
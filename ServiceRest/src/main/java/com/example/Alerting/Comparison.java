@@ -0,0 +1,33 @@
+package com.example.Alerting;
+
+// Opérateur d'une règle: la règle est en alerte quand "valeur <opérateur> seuil" est vrai
+public enum Comparison {
+    LT("<"), LTE("<="), GT(">"), GTE(">=");
+
+    private final String symbol;
+
+    Comparison(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() { return symbol; }
+
+    public boolean test(double value, double threshold) {
+        if (Double.isNaN(value)) return false;
+        switch (this) {
+            case LT: return value < threshold;
+            case LTE: return value <= threshold;
+            case GT: return value > threshold;
+            default: return value >= threshold;
+        }
+    }
+
+    public static Comparison fromSymbol(String symbol) {
+        for (Comparison comparison : values()) {
+            if (comparison.symbol.equals(symbol) || comparison.name().equalsIgnoreCase(symbol)) {
+                return comparison;
+            }
+        }
+        throw new IllegalArgumentException("Opérateur inconnu: " + symbol + " (<, <=, >, >=)");
+    }
+}
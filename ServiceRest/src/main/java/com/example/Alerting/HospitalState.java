@@ -0,0 +1,31 @@
+package com.example.Alerting;
+
+import com.example.Model.Hospital;
+
+import java.util.Objects;
+
+// Valeurs surveillées d'un hôpital (indexées par AlertMetric.ordinal(), NaN si absentes) et ses clés de filtre
+public record HospitalState(String ville, String type, double[] values) {
+
+    public static HospitalState from(Hospital hospital) {
+        AlertMetric[] metrics = AlertMetric.values();
+        double[] values = new double[metrics.length];
+        for (AlertMetric metric : metrics) {
+            values[metric.ordinal()] = metric.valueOf(hospital);
+        }
+        return new HospitalState(hospital.getVille(), hospital.getType(), values);
+    }
+
+    public double value(AlertMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    // Même valeur (deux NaN sont considérés égaux)
+    public boolean sameValue(HospitalState other, AlertMetric metric) {
+        return Double.compare(value(metric), other.value(metric)) == 0;
+    }
+
+    public boolean sameKeys(HospitalState other) {
+        return Objects.equals(ville, other.ville) && Objects.equals(type, other.type);
+    }
+}
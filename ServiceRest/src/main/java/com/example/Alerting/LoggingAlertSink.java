@@ -0,0 +1,20 @@
+package com.example.Alerting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingAlertSink implements AlertSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAlertSink.class);
+
+    @Override
+    public void publish(Alert alert) {
+        if (alert.state() == Alert.State.FIRING) {
+            logger.warn("🚨 [{}] {}", alert.ruleName(), alert.message());
+        } else {
+            logger.info("✅ [{}] {}", alert.ruleName(), alert.message());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Alerting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+// Dernières alertes en mémoire (GET /api/alerts), les plus récentes en premier
+@Component
+public class RecentAlertsSink implements AlertSink {
+
+    @Value("${alerts.recent.size:200}")
+    private int capacity;
+
+    private final Deque<Alert> recent = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(Alert alert) {
+        recent.addFirst(alert);
+        while (recent.size() > capacity) {
+            recent.removeLast();
+        }
+    }
+
+    public synchronized List<Alert> getRecent(int limit) {
+        List<Alert> result = new ArrayList<>(Math.min(limit, recent.size()));
+        Iterator<Alert> it = recent.iterator();
+        while (it.hasNext() && result.size() < limit) {
+            result.add(it.next());
+        }
+        return result;
+    }
+}
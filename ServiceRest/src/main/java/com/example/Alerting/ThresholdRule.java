@@ -0,0 +1,43 @@
+package com.example.Alerting;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Seuil par hôpital: un hôpital filtré dont la valeur viole le seuil est en alerte
+public class ThresholdRule extends AlertRule {
+
+    private final Set<Long> firing = new HashSet<>();
+
+    public ThresholdRule(long id, AlertRuleDefinition definition) {
+        super(id, definition);
+    }
+
+    @Override
+    public int getFiringCount() {
+        return firing.size();
+    }
+
+    @Override
+    public void update(long hospitalId, HospitalState previous, HospitalState current, Instant now, List<Alert> out) {
+        double value = current != null ? current.value(metric) : Double.NaN;
+        boolean violating = matches(current) && comparison.test(value, definition.threshold());
+        String subject = "hospital:" + hospitalId;
+
+        if (violating && firing.add(hospitalId)) {
+            out.add(alert(Alert.State.FIRING, subject, value, now,
+                    "Hôpital " + hospitalId + ": " + metric.getField() + " = " + format(value)
+                            + " " + comparison.getSymbol() + " " + format(definition.threshold())));
+        } else if (!violating && firing.remove(hospitalId)) {
+            out.add(alert(Alert.State.RESOLVED, subject, value, now,
+                    "Hôpital " + hospitalId + ": " + metric.getField()
+                            + (current == null ? " (hôpital supprimé)" : " revenu à " + format(value))));
+        }
+    }
+
+    @Override
+    public void reset() {
+        firing.clear();
+    }
+}
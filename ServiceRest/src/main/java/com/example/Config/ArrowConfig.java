@@ -0,0 +1,21 @@
+package com.example.Config;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+// Allocateur Arrow (mémoire hors tas) partagé par l'import et l'export colonnaires.
+// Créé au premier usage: sur Java 17+ Arrow exige --add-opens=java.base/java.nio=ALL-UNNAMED
+// (fourni par le manifeste du jar, Add-Opens, et par les configurations de lancement du pom)
+@Configuration
+public class ArrowConfig {
+
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public BufferAllocator arrowAllocator(@Value("${arrow.max-memory-bytes:268435456}") long maxMemory) {
+        return new RootAllocator(maxMemory);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.Config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache local Caffeine (spring.cache.*), statistiques exportées en métriques cache.gets / cache.puts
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
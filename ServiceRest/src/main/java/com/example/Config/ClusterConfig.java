@@ -0,0 +1,46 @@
+package com.example.Config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+// Mode cluster: Hazelcast embarqué (HazelcastInstance créée par l'auto-configuration Spring Boot)
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Value("${cluster.name:service-rest}")
+    private String clusterName;
+
+    @Value("${cluster.port:5701}")
+    private int port;
+
+    // Liste "hote:port" séparée par des virgules; vide = découverte multicast
+    @Value("${cluster.members:}")
+    private String members;
+
+    @Bean
+    public Config hazelcastConfig() {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(port).setPortAutoIncrement(true);
+
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getAutoDetectionConfig().setEnabled(false);
+        if (members.isBlank()) {
+            join.getMulticastConfig().setEnabled(true);
+        } else {
+            join.getMulticastConfig().setEnabled(false);
+            join.getTcpIpConfig().setEnabled(true)
+                    .setMembers(Arrays.stream(members.split(",")).map(String::trim).toList());
+        }
+        return config;
+    }
+}
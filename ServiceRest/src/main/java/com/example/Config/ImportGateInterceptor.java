@@ -0,0 +1,43 @@
+package com.example.Config;
+
+import com.example.Service.ImportProgress;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Répond 503 aux requêtes /api/** tant que l'import n'a pas abouti (en cours ou en échec), sauf lectures partielles autorisées
+@Component
+public class ImportGateInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ImportProgress importProgress;
+
+    @Value("${csv.import.serve-partial:false}")
+    private boolean servePartial;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (importProgress.isCompleted()) {
+            return true;
+        }
+        boolean read = "GET".equalsIgnoreCase(request.getMethod());
+        if (read && servePartial) {
+            response.setHeader("X-Import-Progress", importProgress.getPercent() + "%");
+            return true;
+        }
+        // Import en échec: même verdict que la readiness (DOWN), l'API reste fermée
+        if (importProgress.getState() == ImportProgress.State.FAILED) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Import des données en échec: " + importProgress.getError());
+            return false;
+        }
+        response.setHeader("Retry-After", "5");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Import des données en cours (" + importProgress.getPercent() + "%)");
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Config;
+
+import com.example.Dto.BatchProximityRequest;
+import com.example.Dto.MapCluster;
+import com.example.Dto.NearestHospitalResult;
+import com.example.Dto.TransferPlan;
+import com.example.Dto.TransferRequest;
+import com.example.Model.Hospital;
+import com.example.Model.HospitalPoint;
+import com.example.Service.ArrowHospitalImporter;
+import com.example.Service.ClusterSyncService;
+import com.example.TimeSeries.HistoryPoint;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Indications pour Spring AOT / GraalVM native-image (réflexion Jackson, ressources CSV/Arrow)
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.ServiceRestRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class ServiceRestRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jeu de données chargé via ResourceLoader ("classpath:" + csv.file.path)
+            hints.resources().registerPattern("data/*.csv");
+            for (String extension : ArrowHospitalImporter.EXTENSIONS) {
+                hints.resources().registerPattern("data/*" + extension);
+            }
+
+            // Entité + types sérialisés par Jackson hors des signatures de contrôleurs (réponse NDJSON, etc.)
+            for (Class<?> type : new Class<?>[]{Hospital.class, HospitalPoint.class, HistoryPoint.class,
+                    BatchProximityRequest.class, BatchProximityRequest.Position.class, NearestHospitalResult.class,
+                    TransferRequest.class, TransferRequest.Patient.class, TransferPlan.class,
+                    TransferPlan.Assignment.class, MapCluster.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+
+            // Messages du topic Hazelcast (sérialisation Java)
+            hints.serialization().registerType(TypeReference.of(ClusterSyncService.ChangeMessage.class));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Controller;
+
+import com.example.Alerting.Alert;
+import com.example.Alerting.AlertRuleDefinition;
+import com.example.Alerting.AlertRuleView;
+import com.example.Alerting.RecentAlertsSink;
+import com.example.Service.AlertingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@CrossOrigin(origins = "*") // Pour le développement
+public class AlertController {
+
+    @Autowired
+    private AlertingService alertingService;
+
+    @Autowired
+    private RecentAlertsSink recentAlertsSink;
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<AlertRuleView>> getRules() {
+        return ResponseEntity.ok(alertingService.getRules());
+    }
+
+    // Ex: {"kind":"AGGREGATE","metric":"respirateursDisponibles","operator":"<","threshold":5,
+    //      "aggregation":"SUM","groupBy":"VILLE"}
+    @PostMapping("/rules")
+    public ResponseEntity<AlertRuleView> addRule(@RequestBody AlertRuleDefinition definition) {
+        try {
+            return new ResponseEntity<>(alertingService.addRule(definition), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> removeRule(@PathVariable long id) {
+        return alertingService.removeRule(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Dernières alertes émises (plus récentes en premier)
+    @GetMapping
+    public ResponseEntity<List<Alert>> getRecentAlerts(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(recentAlertsSink.getRecent(Math.max(0, limit)));
+    }
+}
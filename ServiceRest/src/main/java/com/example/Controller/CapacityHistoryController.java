@@ -0,0 +1,56 @@
+package com.example.Controller;
+
+import com.example.Service.CapacityHistoryService;
+import com.example.TimeSeries.CapacityMetric;
+import com.example.TimeSeries.HistoryPoint;
+import com.example.TimeSeries.Resolution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hospitals")
+@CrossOrigin(origins = "*") // Pour le développement
+public class CapacityHistoryController {
+
+    @Autowired
+    private CapacityHistoryService capacityHistoryService;
+
+    // Les intervalles sans changement sont restitués (valeur reportée): une plage d'agrégats est bornée
+    @Value("${history.query.max-buckets:10000}")
+    private long maxBuckets;
+
+    // Historique d'une grandeur: metric=litsOccupees|tempsAttenteUrgence|niveauSurcharge|..., resolution=raw|1m|1h|1d.
+    // 400 si la plage couvre plus de history.query.max-buckets intervalles
+    @GetMapping("/{id}/historique")
+    public ResponseEntity<List<HistoryPoint>> getHistory(
+            @PathVariable Long id,
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "1m") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        CapacityMetric capacityMetric;
+        Resolution res;
+        try {
+            capacityMetric = CapacityMetric.fromField(metric);
+            res = Resolution.fromCode(resolution);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (res != Resolution.RAW
+                && Duration.between(start, end).getSeconds() / res.getSeconds() > maxBuckets) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<HistoryPoint> points = capacityHistoryService.getHistory(id, capacityMetric, res, start, end);
+        return ResponseEntity.ok(points);
+    }
+}
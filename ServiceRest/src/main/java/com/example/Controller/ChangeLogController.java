@@ -0,0 +1,35 @@
+package com.example.Controller;
+
+import com.example.Dto.ChangeLogPage;
+import com.example.Service.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/hospitals")
+@CrossOrigin(origins = "*") // Pour le développement
+public class ChangeLogController {
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    // Modifications après l'offset "since" (0 = depuis le début). 410 si l'époque présentée n'est plus
+    // celle du journal ou si l'offset dépasse sa tête (journal réinitialisé, ex. base en mémoire
+    // redémarrée): le client doit repartir de 0 sans époque
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeLogPage> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) String epoch) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        if ((epoch != null && !epoch.equals(changeLogService.getEpoch()))
+                || since > changeLogService.getHeadOffset()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(changeLogService.getChanges(since, limit));
+    }
+}
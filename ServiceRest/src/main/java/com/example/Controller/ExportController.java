@@ -0,0 +1,58 @@
+package com.example.Controller;
+
+import com.example.Service.HospitalExportService;
+import com.example.TimeSeries.Resolution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/hospitals")
+@CrossOrigin(origins = "*") // Pour le développement
+public class ExportController {
+
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType(HospitalExportService.ARROW_STREAM_MEDIA_TYPE);
+
+    @Autowired
+    private HospitalExportService exportService;
+
+    // Export en masse de la table des hôpitaux (format=arrow: flux Arrow IPC)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHospitals(@RequestParam(defaultValue = "arrow") String format) {
+        if (!"arrow".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(ARROW_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"hospitals.arrows\"")
+                .body(exportService::exportHospitals);
+    }
+
+    // Export de l'historique des capacités de tous les hôpitaux, resolution=raw|1m|1h|1d
+    @GetMapping("/historique/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(defaultValue = "1h") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        Resolution res;
+        try {
+            res = Resolution.fromCode(resolution);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(7));
+        return ResponseEntity.ok()
+                .contentType(ARROW_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"historique.arrows\"")
+                .body(out -> exportService.exportHistory(res, start, end, out));
+    }
+}
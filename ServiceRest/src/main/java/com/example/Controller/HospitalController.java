@@ -1,11 +1,17 @@
 package com.example.Controller;
 
+import com.example.Dto.BatchProximityRequest;
+import com.example.Dto.NearestHospitalResult;
 import com.example.Model.Hospital;
+import com.example.Service.HospitalIndex;
 import com.example.Service.HospitalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +25,12 @@ public class HospitalController {
     @Autowired
     private HospitalService hospitalService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Taille des lots résolus en parallèle avant d'être écrits dans la réponse
+    private static final int BATCH_CHUNK_SIZE = 256;
+
     // CREATE
     @PostMapping
     public ResponseEntity<Hospital> createHospital(@RequestBody Hospital hospital) {
@@ -36,7 +48,8 @@ public class HospitalController {
     // READ BY ID
     @GetMapping("/{id}")
     public ResponseEntity<Hospital> getHospitalById(@PathVariable Long id) {
-        Hospital hospital = hospitalService.getHospitalById(id);
+        // Copie de l'entrée du cache: les lits réservés sont renseignés à chaque lecture
+        Hospital hospital = hospitalService.withHolds(hospitalService.getHospitalById(id));
         return ResponseEntity.ok(hospital);
     }
 
@@ -106,6 +119,36 @@ public class HospitalController {
         return ResponseEntity.ok(hospitals);
     }
 
+    // Recherche groupée pour toute une flotte d'ambulances: une ligne NDJSON par position
+    @PostMapping(value = "/proximite/batch", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> findNearestHospitalsBatch(@RequestBody BatchProximityRequest request) {
+        List<BatchProximityRequest.Position> positions =
+                request.positions() != null ? request.positions() : List.of();
+
+        StreamingResponseBody body = out -> {
+            for (int from = 0; from < positions.size(); from += BATCH_CHUNK_SIZE) {
+                List<NearestHospitalResult> results = positions
+                        .subList(from, Math.min(positions.size(), from + BATCH_CHUNK_SIZE))
+                        .parallelStream()
+                        .map(p -> {
+                            HospitalIndex.Nearest nearest = hospitalService.findNearestHospital(
+                                    p.latitude(), p.longitude(), request.specialite(), request.urgence(),
+                                    request.minLits(), request.maxDistanceKm());
+                            return nearest == null
+                                    ? new NearestHospitalResult(p.id(), null, null)
+                                    : new NearestHospitalResult(p.id(), nearest.hospital(), nearest.distanceKm());
+                        })
+                        .toList();
+                for (NearestHospitalResult result : results) {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     // ENDPOINT POUR LE WORKFLOW - Trouver l'hôpital le plus adapté
     @GetMapping("/recommandation")
     public ResponseEntity<List<Hospital>> getRecommendedHospitals(
@@ -121,7 +164,7 @@ public class HospitalController {
             recommendations = hospitalService.getEmergencyHospitals();
             // Filtrer par lits disponibles si spécifié
             if (minLits > 0) {
-                recommendations.removeIf(h -> h.getLitsDisponibles() < minLits);
+                recommendations.removeIf(h -> h.getLitsDisponiblesNets() < minLits);
             }
         } else if (specialite != null) {
             recommendations = hospitalService.getHospitalsBySpecialite(specialite);
@@ -0,0 +1,30 @@
+package com.example.Controller;
+
+import com.example.Dto.MapCluster;
+import com.example.Service.MapClusterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hospitals")
+@CrossOrigin(origins = "*") // Pour le développement
+public class MapClusterController {
+
+    @Autowired
+    private MapClusterService mapClusterService;
+
+    // Clusters de la carte pour une emprise (bounding box) et un niveau de zoom
+    @GetMapping("/clusters")
+    public ResponseEntity<List<MapCluster>> getClusters(
+            @RequestParam Double minLat,
+            @RequestParam Double minLon,
+            @RequestParam Double maxLat,
+            @RequestParam Double maxLon,
+            @RequestParam(defaultValue = "6") Integer zoom) {
+
+        return ResponseEntity.ok(mapClusterService.getClusters(minLat, minLon, maxLat, maxLon, zoom));
+    }
+}
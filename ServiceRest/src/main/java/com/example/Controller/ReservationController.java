@@ -0,0 +1,65 @@
+package com.example.Controller;
+
+import com.example.Model.Hospital;
+import com.example.Reservation.BedReservation;
+import com.example.Service.BedReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*") // Pour le développement
+public class ReservationController {
+
+    @Autowired
+    private BedReservationService reservationService;
+
+    // Retenir des lits pendant le trajet: 201, 409 si les lits manquent, 400 si la demande est invalide,
+    // 501 en mode cluster (retenues propres à chaque instance)
+    @PostMapping("/hospitals/{id}/reservations")
+    public ResponseEntity<BedReservation> reserve(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int lits,
+            @RequestParam(required = false) Long ttlSeconds) {
+        try {
+            BedReservation reservation = reservationService.reserve(id, lits,
+                    ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : null);
+            return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+    }
+
+    @GetMapping("/reservations/{rid}")
+    public ResponseEntity<BedReservation> getReservation(@PathVariable String rid) {
+        BedReservation reservation = reservationService.getReservation(rid);
+        return reservation != null ? ResponseEntity.ok(reservation) : ResponseEntity.notFound().build();
+    }
+
+    // Arrivée du patient: les lits réservés deviennent occupés (404 si inconnue ou expirée,
+    // 409 si l'hôpital n'a plus assez de lits: la réservation est conservée)
+    @PostMapping("/reservations/{rid}/confirm")
+    public ResponseEntity<Hospital> confirm(@PathVariable String rid) {
+        try {
+            Hospital hospital = reservationService.confirm(rid);
+            return hospital != null ? ResponseEntity.ok(hospital) : ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @DeleteMapping("/reservations/{rid}")
+    public ResponseEntity<Void> release(@PathVariable String rid) {
+        return reservationService.release(rid)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Controller;
+
+import com.example.Dto.TransferPlan;
+import com.example.Dto.TransferRequest;
+import com.example.Service.TransferPlanningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/hospitals")
+@CrossOrigin(origins = "*") // Pour le développement
+public class TransferController {
+
+    @Autowired
+    private TransferPlanningService transferPlanningService;
+
+    // Plan de transfert des patients d'un hôpital saturé vers ses voisins (aucune mise à jour n'est appliquée)
+    @PostMapping("/{id}/transferts")
+    public ResponseEntity<TransferPlan> planTransfers(@PathVariable Long id, @RequestBody TransferRequest request) {
+        return ResponseEntity.ok(transferPlanningService.plan(id, request));
+    }
+}
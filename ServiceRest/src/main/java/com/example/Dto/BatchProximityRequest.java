@@ -0,0 +1,15 @@
+package com.example.Dto;
+
+import java.util.List;
+
+// Requête de recherche groupée: positions de la flotte + contraintes communes
+public record BatchProximityRequest(
+        List<Position> positions,
+        String specialite,
+        Boolean urgence,
+        Integer minLits,
+        Double maxDistanceKm) {
+
+    // id = identifiant libre côté appelant (ex: immatriculation de l'ambulance)
+    public record Position(String id, Double latitude, Double longitude) {}
+}
@@ -0,0 +1,14 @@
+package com.example.Dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.List;
+
+// Page du journal des modifications: reprendre avec since=nextOffset et epoch=epoch;
+// à jour quand nextOffset == headOffset
+public record ChangeLogPage(String epoch, List<Entry> changes, long nextOffset, long headOffset) {
+
+    // hospital: état JSON après mutation, null pour DELETED
+    public record Entry(long offset, String type, Long hospitalId, Instant changedAt, @JsonRawValue String hospital) {}
+}
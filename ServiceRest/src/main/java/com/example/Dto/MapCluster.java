@@ -0,0 +1,12 @@
+package com.example.Dto;
+
+// Agrégat d'une cellule de la grille de clustering (hospitalId renseigné quand la cellule ne contient qu'un hôpital)
+public record MapCluster(
+        double latitude,
+        double longitude,
+        int count,
+        Long hospitalId,
+        long litsTotal,
+        long litsDisponibles,
+        int urgencesOuvertes,
+        long respirateursDisponibles) {}
@@ -0,0 +1,6 @@
+package com.example.Dto;
+
+import com.example.Model.HospitalPoint;
+
+// Une ligne de la réponse NDJSON: hôpital le plus proche d'une position (null si aucun ne convient)
+public record NearestHospitalResult(String id, HospitalPoint hospital, Double distanceKm) {}
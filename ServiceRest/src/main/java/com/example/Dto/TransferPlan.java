@@ -0,0 +1,10 @@
+package com.example.Dto;
+
+import java.util.List;
+
+// Plan de transfert: une affectation par patient placé, les autres dans "nonAffectes"
+public record TransferPlan(Long sourceId, List<Assignment> affectations, List<String> nonAffectes,
+                           double distanceTotaleKm) {
+
+    public record Assignment(String ref, Long hospitalId, String nomHopital, double distanceKm) {}
+}
@@ -0,0 +1,10 @@
+package com.example.Dto;
+
+import java.util.List;
+
+// Patients à transférer depuis un hôpital saturé
+public record TransferRequest(List<Patient> patients, Double maxDistanceKm) {
+
+    // ref = référence libre du patient; respirateur = besoin d'un respirateur à l'arrivée
+    public record Patient(String ref, String specialite, Boolean respirateur) {}
+}
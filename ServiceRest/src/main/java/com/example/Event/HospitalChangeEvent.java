@@ -0,0 +1,36 @@
+package com.example.Event;
+
+import com.example.Model.Hospital;
+
+import java.time.Instant;
+
+// Événement publié après chaque mutation d'un hôpital (localement par HospitalService, ou relayé depuis un pair du cluster)
+public class HospitalChangeEvent {
+
+    // HOLDS_UPDATED: seuls les lits retenus (en mémoire) ont changé, l'état persisté est inchangé
+    public enum Type { CREATED, UPDATED, BEDS_UPDATED, RESOURCES_UPDATED, HOLDS_UPDATED, DELETED }
+
+    private final Type type;
+    private final Long hospitalId;
+    private final Hospital hospital; // état après mutation (null pour DELETED)
+    private final boolean remote;
+    private final Instant timestamp;
+
+    public HospitalChangeEvent(Type type, Long hospitalId, Hospital hospital, boolean remote) {
+        this.type = type;
+        this.hospitalId = hospitalId;
+        this.hospital = hospital;
+        this.remote = remote;
+        this.timestamp = Instant.now();
+    }
+
+    public static HospitalChangeEvent local(Type type, Hospital hospital) {
+        return new HospitalChangeEvent(type, hospital.getId(), type == Type.DELETED ? null : hospital, false);
+    }
+
+    public Type getType() { return type; }
+    public Long getHospitalId() { return hospitalId; }
+    public Hospital getHospital() { return hospital; }
+    public boolean isRemote() { return remote; }
+    public Instant getTimestamp() { return timestamp; }
+}
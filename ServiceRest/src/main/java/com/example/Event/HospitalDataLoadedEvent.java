@@ -0,0 +1,13 @@
+package com.example.Event;
+
+// Publié quand le jeu d'hôpitaux initial est en base (import CSV, snapshot ou base déjà à jour)
+public class HospitalDataLoadedEvent {
+
+    private final int count;
+
+    public HospitalDataLoadedEvent(int count) {
+        this.count = count;
+    }
+
+    public int getCount() { return count; }
+}
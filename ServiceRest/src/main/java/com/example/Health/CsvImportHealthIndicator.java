@@ -0,0 +1,34 @@
+package com.example.Health;
+
+import com.example.Service.ImportProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Inclus dans le groupe "readiness": OUT_OF_SERVICE tant que l'import de démarrage n'est pas terminé
+@Component("csvImport")
+public class CsvImportHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private ImportProgress importProgress;
+
+    @Override
+    public Health health() {
+        Health.Builder builder;
+        switch (importProgress.getState()) {
+            case COMPLETED: builder = Health.up(); break;
+            case FAILED: builder = Health.down().withDetail("error", String.valueOf(importProgress.getError())); break;
+            default: builder = Health.outOfService();
+        }
+        return builder
+                .withDetail("state", importProgress.getState())
+                .withDetail("source", String.valueOf(importProgress.getSource()))
+                .withDetail("processedRows", importProgress.getProcessedRows())
+                .withDetail("totalRows", importProgress.getTotalRows())
+                .withDetail("savedRows", importProgress.getSavedRows())
+                .withDetail("percent", importProgress.getPercent())
+                .withDetail("elapsedMs", importProgress.getElapsed().toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.Model;
+import jakarta.persistence.*;
+
+// Ligne unique de séquence du journal: prochain offset à attribuer et époque du journal.
+// Chaque ajout la met à jour dans sa transaction: le verrou de ligne ordonne les offsets entre les nœuds
+@Entity
+@Table(name = "change_log_sequence")
+public class ChangeLogSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "next_offset", nullable = false)
+    private Long nextOffset;
+
+    // Change quand le journal repart de zéro (nouvelle base): les offsets d'une autre époque ne valent plus rien
+    @Column(name = "epoch", nullable = false)
+    private String epoch;
+
+    // Constructeurs
+    public ChangeLogSequence() {}
+
+    public ChangeLogSequence(Long nextOffset, String epoch) {
+        this.id = ID;
+        this.nextOffset = nextOffset;
+        this.epoch = epoch;
+    }
+
+    // Getters et Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public Long getNextOffset() { return nextOffset; }
+    public void setNextOffset(Long nextOffset) { this.nextOffset = nextOffset; }
+
+    public String getEpoch() { return epoch; }
+    public void setEpoch(String epoch) { this.epoch = epoch; }
+}
@@ -1,5 +1,6 @@
 package com.example.Model;
 import jakarta.persistence.*;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -34,7 +35,8 @@ public class Hospital {
     @Column(name = "lits_disponibles")
     private Integer litsDisponibles;
 
-    @ElementCollection
+    // EAGER: les hôpitaux sont mis en cache et relus hors session JPA
+    @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "hospital_specialites", joinColumns = @JoinColumn(name = "hospital_id"))
     @Column(name = "specialite")
     private List<String> specialitesPrincipales;
@@ -69,6 +71,10 @@ public class Hospital {
     @Column(name = "bloc_operatoire_disponible")
     private Boolean blocOperatoireDisponible;
 
+    // Lits retenus par des réservations en cours (non persisté, renseigné à la lecture)
+    @Transient
+    private Integer litsReserves;
+
     // Calcul automatique des lits disponibles (si besoin)
     @PrePersist
     @PreUpdate
@@ -82,6 +88,32 @@ public class Hospital {
     // Constructeurs
     public Hospital() {}
 
+    // Copie détachée (le near-cache garde sa propre instance, les appelants reçoivent une copie)
+    public Hospital(Hospital other) {
+        this.id = other.id;
+        this.nomHopital = other.nomHopital;
+        this.type = other.type;
+        this.ville = other.ville;
+        this.telephone = other.telephone;
+        this.adresse = other.adresse;
+        this.litsTotales = other.litsTotales;
+        this.litsOccupees = other.litsOccupees;
+        this.litsDisponibles = other.litsDisponibles;
+        this.specialitesPrincipales = other.specialitesPrincipales != null
+                ? new ArrayList<>(other.specialitesPrincipales) : null;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.urgenceOuvert = other.urgenceOuvert;
+        this.tempsAttenteUrgence = other.tempsAttenteUrgence;
+        this.niveauSurcharge = other.niveauSurcharge;
+        this.nbMedecinsDisponibles = other.nbMedecinsDisponibles;
+        this.nbInfirmiersDisponibles = other.nbInfirmiersDisponibles;
+        this.nbAmbulancesDisponibles = other.nbAmbulancesDisponibles;
+        this.respirateursDisponibles = other.respirateursDisponibles;
+        this.blocOperatoireDisponible = other.blocOperatoireDisponible;
+        this.litsReserves = other.litsReserves;
+    }
+
     // Getters et Setters (tous)
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -110,6 +142,15 @@ public class Hospital {
     public Integer getLitsDisponibles() { return litsDisponibles; }
     public void setLitsDisponibles(Integer litsDisponibles) { this.litsDisponibles = litsDisponibles; }
 
+    public Integer getLitsReserves() { return litsReserves; }
+    public void setLitsReserves(Integer litsReserves) { this.litsReserves = litsReserves; }
+
+    // Lits réellement attribuables: disponibles moins réservés
+    public Integer getLitsDisponiblesNets() {
+        if (litsDisponibles == null) return null;
+        return Math.max(0, litsDisponibles - (litsReserves != null ? litsReserves : 0));
+    }
+
     public List<String> getSpecialitesPrincipales() { return specialitesPrincipales; }
     public void setSpecialitesPrincipales(List<String> specialitesPrincipales) {
         this.specialitesPrincipales = specialitesPrincipales;
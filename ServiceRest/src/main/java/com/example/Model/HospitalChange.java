@@ -0,0 +1,67 @@
+package com.example.Model;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.Instant;
+
+// Entrée du journal des modifications: l'offset (attribué via ChangeLogSequence) ordonne les changements
+@Entity
+@Table(name = "hospital_change", indexes = @Index(name = "idx_hospital_change_hospital", columnList = "hospital_id"))
+public class HospitalChange implements Persistable<Long> {
+
+    @Id
+    @Column(name = "change_offset")
+    private Long offset;
+
+    @Column(name = "hospital_id", nullable = false)
+    private Long hospitalId;
+
+    @Column(name = "change_type", nullable = false)
+    private String type; // HospitalChangeEvent.Type
+
+    @Lob
+    @Column(name = "payload")
+    private String payload; // état JSON de l'hôpital après mutation (null pour une suppression)
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // Offset attribué avant l'insertion: évite le SELECT de merge() sur chaque nouvelle entrée
+    @Transient
+    private boolean persisted;
+
+    // Constructeurs
+    public HospitalChange() {}
+
+    public HospitalChange(Long hospitalId, String type, String payload, Instant changedAt) {
+        this.hospitalId = hospitalId;
+        this.type = type;
+        this.payload = payload;
+        this.changedAt = changedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() { this.persisted = true; }
+
+    @Override
+    public Long getId() { return offset; }
+
+    @Override
+    public boolean isNew() { return !persisted; }
+
+    // Getters et Setters
+    public Long getOffset() { return offset; }
+    public void setOffset(Long offset) { this.offset = offset; }
+
+    public Long getHospitalId() { return hospitalId; }
+    public void setHospitalId(Long hospitalId) { this.hospitalId = hospitalId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,53 @@
+package com.example.Model;
+
+import java.util.List;
+import java.util.Locale;
+
+// Vue immuable d'un hôpital pour les index en mémoire (proximité, distances, agrégats).
+// litsDisponibles: lits nets des réservations connues lors de l'événement (voir HospitalService.withHolds)
+public record HospitalPoint(
+        Long id,
+        String nomHopital,
+        String ville,
+        String type,
+        double latitude,
+        double longitude,
+        int litsTotal,
+        int litsDisponibles,
+        int respirateursDisponibles,
+        boolean urgenceOuvert,
+        Integer tempsAttenteUrgence,
+        String niveauSurcharge,
+        List<String> specialitesPrincipales) {
+
+    public static HospitalPoint from(Hospital h) {
+        return new HospitalPoint(
+                h.getId(),
+                h.getNomHopital(),
+                h.getVille(),
+                h.getType(),
+                h.getLatitude(),
+                h.getLongitude(),
+                h.getLitsTotal() != null ? h.getLitsTotal() : 0,
+                h.getLitsDisponiblesNets() != null ? h.getLitsDisponiblesNets() : 0,
+                h.getRespirateursDisponibles() != null ? h.getRespirateursDisponibles() : 0,
+                Boolean.TRUE.equals(h.getUrgenceOuvert()),
+                h.getTempsAttenteUrgence(),
+                h.getNiveauSurcharge(),
+                h.getSpecialitesPrincipales() != null ? List.copyOf(h.getSpecialitesPrincipales()) : List.of());
+    }
+
+    public static boolean isLocated(Hospital h) {
+        return h.getId() != null && h.getLatitude() != null && h.getLongitude() != null;
+    }
+
+    // Même règle que la recherche multi-critères: sous-chaîne, insensible à la casse
+    public boolean hasSpecialite(String specialite) {
+        if (specialite == null || specialite.isEmpty()) return true;
+        String wanted = specialite.toLowerCase(Locale.ROOT);
+        for (String s : specialitesPrincipales) {
+            if (s != null && s.toLowerCase(Locale.ROOT).contains(wanted)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Model;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// État du dernier import d'une source de données (permet de sauter l'import si rien n'a changé)
+@Entity
+@Table(name = "import_state")
+public class ImportState {
+
+    @Id
+    @Column(name = "source")
+    private String source; // chemin du fichier importé
+
+    @Column(name = "checksum", nullable = false)
+    private String checksum; // SHA-256 du contenu
+
+    @Column(name = "nb_lignes")
+    private Integer nbLignes;
+
+    @Column(name = "imported_at")
+    private LocalDateTime importedAt;
+
+    // Constructeurs
+    public ImportState() {}
+
+    public ImportState(String source, String checksum, Integer nbLignes) {
+        this.source = source;
+        this.checksum = checksum;
+        this.nbLignes = nbLignes;
+        this.importedAt = LocalDateTime.now();
+    }
+
+    // Getters et Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getChecksum() { return checksum; }
+    public void setChecksum(String checksum) { this.checksum = checksum; }
+
+    public Integer getNbLignes() { return nbLignes; }
+    public void setNbLignes(Integer nbLignes) { this.nbLignes = nbLignes; }
+
+    public LocalDateTime getImportedAt() { return importedAt; }
+    public void setImportedAt(LocalDateTime importedAt) { this.importedAt = importedAt; }
+}
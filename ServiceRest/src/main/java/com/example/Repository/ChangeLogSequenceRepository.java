@@ -0,0 +1,24 @@
+package com.example.Repository;
+
+import com.example.Model.ChangeLogSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ChangeLogSequenceRepository extends JpaRepository<ChangeLogSequence, Integer> {
+
+    // Réserve "count" offsets et verrouille la ligne jusqu'à la fin de la transaction appelante
+    // (count = 0: verrou seul). Les ajouts concurrents, y compris d'autres nœuds, attendent le commit
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("UPDATE ChangeLogSequence s SET s.nextOffset = s.nextOffset + ?1 WHERE s.id = " + ChangeLogSequence.ID)
+    int reserve(long count);
+
+    // Lecture scalaire: toujours la valeur en base, jamais une instance périmée du contexte de persistance
+    @Query("SELECT s.nextOffset FROM ChangeLogSequence s WHERE s.id = " + ChangeLogSequence.ID)
+    long findNextOffset();
+}
@@ -0,0 +1,39 @@
+package com.example.Repository;
+
+import com.example.Model.HospitalChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface HospitalChangeRepository extends JpaRepository<HospitalChange, Long> {
+
+    // Page du journal après un offset, dans l'ordre des offsets
+    List<HospitalChange> findByOffsetGreaterThanOrderByOffsetAsc(Long offset, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.offset), 0) FROM HospitalChange c")
+    long findHeadOffset();
+
+    // Dernière entrée de chaque hôpital: état courant vu par un consommateur qui a tout rejoué
+    @Query("SELECT c FROM HospitalChange c WHERE c.offset IN " +
+            "(SELECT MAX(n.offset) FROM HospitalChange n GROUP BY n.hospitalId)")
+    List<HospitalChange> findLatestPerHospital();
+
+    // Dernier offset écrit avant une date (borne de compaction)
+    @Query("SELECT COALESCE(MAX(c.offset), 0) FROM HospitalChange c WHERE c.changedAt < ?1")
+    long findLastOffsetBefore(Instant instant);
+
+    // Compaction: supprime les entrées remplacées par une entrée plus récente du même hôpital,
+    // jusqu'à l'offset donné (la dernière entrée de chaque hôpital, suppressions comprises, est conservée)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HospitalChange c WHERE c.offset <= ?1 AND EXISTS " +
+            "(SELECT 1 FROM HospitalChange n WHERE n.hospitalId = c.hospitalId AND n.offset > c.offset)")
+    int compactUpTo(Long offset);
+}
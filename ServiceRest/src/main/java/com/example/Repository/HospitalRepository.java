@@ -1,15 +1,25 @@
 package com.example.Repository;
 
 import com.example.Model.Hospital;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
 public interface HospitalRepository extends JpaRepository<Hospital, Long> {
 
+    // Tous les hôpitaux avec leurs spécialités chargées (utilisable hors session JPA)
+    @Query("SELECT DISTINCT h FROM Hospital h LEFT JOIN FETCH h.specialitesPrincipales")
+    List<Hospital> findAllWithSpecialites();
+
+    // Page de clés pour les parcours complets (export): hôpitaux d'id supérieur au dernier lu
+    List<Hospital> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     // Recherche par ville
     List<Hospital> findByVille(String ville);
 
@@ -37,4 +47,13 @@ public interface HospitalRepository extends JpaRepository<Hospital, Long> {
 
     // Nouvelle méthode: recherche par nombre minimum de lits disponibles
     List<Hospital> findByLitsDisponiblesGreaterThan(Integer minLits);
-}
\ No newline at end of file
+
+    // Occupe "lits" lits en une seule mise à jour conditionnelle: 0 ligne si le total serait dépassé.
+    // Pas de lecture préalable: deux confirmations concurrentes ne peuvent pas écraser l'occupation l'une de l'autre
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Hospital h SET h.litsOccupees = COALESCE(h.litsOccupees, 0) + ?2, " +
+            "h.litsDisponibles = h.litsTotales - (COALESCE(h.litsOccupees, 0) + ?2) " +
+            "WHERE h.id = ?1 AND COALESCE(h.litsOccupees, 0) + ?2 <= h.litsTotales")
+    int occupyBeds(Long id, int lits);
+}
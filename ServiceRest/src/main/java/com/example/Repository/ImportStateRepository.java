@@ -0,0 +1,9 @@
+package com.example.Repository;
+
+import com.example.Model.ImportState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportStateRepository extends JpaRepository<ImportState, String> {
+}
@@ -0,0 +1,11 @@
+package com.example.Reservation;
+
+import java.time.Instant;
+
+// Lits retenus dans un hôpital jusqu'à confirmation, annulation ou expiration
+public record BedReservation(String id, Long hospitalId, int lits, Instant createdAt, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
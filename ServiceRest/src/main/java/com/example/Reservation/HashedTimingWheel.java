@@ -0,0 +1,86 @@
+package com.example.Reservation;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Roue temporelle hachée (hashed timing wheel) pour un grand nombre d'échéances.
+ *
+ * schedule() est en O(1) et sans verrou: l'échéance est déposée dans une file d'attente, puis
+ * rangée dans sa case par le fil qui fait tourner la roue. Chaque tick ne parcourt qu'une case;
+ * une échéance plus lointaine qu'un tour de roue y reste jusqu'au bon tour.
+ * Pas d'annulation: l'appelant ignore à l'expiration les éléments déjà traités.
+ */
+public final class HashedTimingWheel<T> {
+
+    private static final class Timeout<T> {
+        final T item;
+        final long deadlineMillis;
+        long deadlineTick;
+
+        Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] slots;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private long currentTick;
+
+    // wheelSize arrondi à la puissance de 2 supérieure
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis et wheelSize doivent être positifs");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        pending.add(new Timeout<>(item, deadlineMillis));
+    }
+
+    // Fait tourner la roue jusqu'à nowMillis; chaque élément échu est passé à onExpired. Retourne leur nombre.
+    public synchronized int advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        transferPending();
+        int expired = 0;
+        while (currentTick <= targetTick) {
+            ArrayDeque<Timeout<T>> slot = slots[(int) (currentTick & mask)];
+            for (int i = slot.size(); i > 0; i--) {
+                Timeout<T> timeout = slot.poll();
+                if (timeout.deadlineTick <= currentTick) {
+                    onExpired.accept(timeout.item);
+                    expired++;
+                } else {
+                    slot.add(timeout); // tour suivant
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            // Tick de l'échéance arrondi au-dessus; une échéance déjà dépassée part au prochain tick
+            long tick = Math.floorDiv(timeout.deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+            timeout.deadlineTick = Math.max(tick, currentTick);
+            slots[(int) (timeout.deadlineTick & mask)].add(timeout);
+        }
+    }
+}
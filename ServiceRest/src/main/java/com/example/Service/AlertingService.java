@@ -0,0 +1,180 @@
+package com.example.Service;
+
+import com.example.Alerting.*;
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Moteur d'alertes incrémental sur les capacités hospitalières.
+ *
+ * Tient la dernière valeur de chaque grandeur surveillée par hôpital. À chaque HospitalChangeEvent,
+ * seules les règles indexées sur les grandeurs qui ont changé sont réévaluées (toutes les règles si
+ * la ville ou le type change, ou à la création / suppression). Les alertes sont envoyées à tous les
+ * AlertSink, dans l'ordre où elles ont été produites. Les règles sont en mémoire, propres à chaque instance.
+ */
+@Service
+public class AlertingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertingService.class);
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private List<AlertSink> sinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long nextRuleId = 1;
+    private final Map<Long, HospitalState> states = new HashMap<>();
+    private final Map<Long, AlertRule> rules = new LinkedHashMap<>();
+    private final Map<AlertMetric, List<AlertRule>> rulesByMetric = new EnumMap<>(AlertMetric.class);
+
+    // Alertes produites, en attente de livraison: remplie sous le verrou principal (ordre d'évaluation),
+    // vidée hors verrou par un seul fil à la fois
+    private final Deque<Alert> pending = new ArrayDeque<>();
+    private boolean draining;
+
+    @EventListener
+    public void onDataLoaded(HospitalDataLoadedEvent event) {
+        synchronized (this) {
+            List<Alert> alerts = new ArrayList<>();
+            states.clear();
+            for (Hospital hospital : hospitalRepository.findAll()) {
+                states.put(hospital.getId(), HospitalState.from(hospital));
+            }
+            Instant now = Instant.now();
+            for (AlertRule rule : rules.values()) {
+                rule.reset();
+                feed(rule, now, alerts);
+            }
+            enqueue(alerts);
+        }
+        drain();
+    }
+
+    @EventListener
+    public void onHospitalChange(HospitalChangeEvent event) {
+        Long id = event.getHospitalId();
+        if (id == null) return;
+        synchronized (this) {
+            HospitalState current = event.getHospital() != null ? HospitalState.from(event.getHospital()) : null;
+            HospitalState previous = current != null ? states.put(id, current) : states.remove(id);
+            if (rules.isEmpty()) return;
+
+            List<Alert> alerts = new ArrayList<>();
+            for (AlertRule rule : affectedRules(previous, current)) {
+                rule.update(id, previous, current, event.getTimestamp(), alerts);
+            }
+            enqueue(alerts);
+        }
+        drain();
+    }
+
+    public AlertRuleView addRule(AlertRuleDefinition definition) {
+        AlertRule rule;
+        synchronized (this) {
+            // L'identifiant n'est consommé que par une définition valide
+            rule = AlertRule.create(nextRuleId, definition);
+            nextRuleId++;
+            rules.put(rule.getId(), rule);
+            rulesByMetric.computeIfAbsent(rule.getMetric(), m -> new ArrayList<>()).add(rule);
+            // Les violations déjà présentes déclenchent une alerte dès l'enregistrement
+            List<Alert> alerts = new ArrayList<>();
+            feed(rule, Instant.now(), alerts);
+            enqueue(alerts);
+        }
+        logger.info("🔔 Règle d'alerte {} enregistrée: {}", rule.getId(), definition);
+        drain();
+        return AlertRuleView.of(rule);
+    }
+
+    public synchronized boolean removeRule(long id) {
+        AlertRule rule = rules.remove(id);
+        if (rule == null) return false;
+        rulesByMetric.get(rule.getMetric()).remove(rule);
+        return true;
+    }
+
+    public synchronized List<AlertRuleView> getRules() {
+        return rules.values().stream().map(AlertRuleView::of).toList();
+    }
+
+    // Règles concernées par le passage de previous à current
+    private Collection<AlertRule> affectedRules(HospitalState previous, HospitalState current) {
+        if (previous == null || current == null || !previous.sameKeys(current)) {
+            return rules.values();
+        }
+        List<AlertRule> affected = new ArrayList<>();
+        for (Map.Entry<AlertMetric, List<AlertRule>> entry : rulesByMetric.entrySet()) {
+            if (!previous.sameValue(current, entry.getKey())) {
+                affected.addAll(entry.getValue());
+            }
+        }
+        return affected;
+    }
+
+    private void feed(AlertRule rule, Instant now, List<Alert> alerts) {
+        for (Map.Entry<Long, HospitalState> entry : states.entrySet()) {
+            rule.update(entry.getKey(), null, entry.getValue(), now, alerts);
+        }
+    }
+
+    // Appelé sous le verrou principal: l'ordre de la file est celui des évaluations
+    private void enqueue(List<Alert> alerts) {
+        if (alerts.isEmpty()) return;
+        synchronized (pending) {
+            pending.addAll(alerts);
+        }
+    }
+
+    // Hors verrou principal (un sink lent ne bloque pas les mutations). Un seul fil livre à la fois:
+    // les autres déposent leurs alertes et repartent, le fil en cours les livre dans l'ordre
+    private void drain() {
+        synchronized (pending) {
+            if (draining) return;
+            draining = true;
+        }
+        try {
+            while (true) {
+                Alert alert;
+                synchronized (pending) {
+                    alert = pending.poll();
+                    if (alert == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                deliver(alert);
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (pending) {
+                draining = false;
+            }
+            throw e;
+        }
+    }
+
+    private void deliver(Alert alert) {
+        meterRegistry.counter("hospital.alerts", "state", alert.state().name()).increment();
+        for (AlertSink sink : sinks) {
+            try {
+                sink.publish(alert);
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Alerte non transmise par {}: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
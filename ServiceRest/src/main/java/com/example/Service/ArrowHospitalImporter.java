@@ -0,0 +1,201 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ViewVarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Import Arrow IPC (fichier .arrow/.feather ou flux .arrows).
+ *
+ * Décodage colonne par colonne: le type de vecteur est résolu une fois par colonne et
+ * par lot, puis la colonne est parcourue d'un bloc sans passer par une ligne texte.
+ * Texte: Utf8, LargeUtf8, Utf8View ou colonne encodée par dictionnaire.
+ */
+@Component
+@Order(1)
+public class ArrowHospitalImporter implements HospitalImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArrowHospitalImporter.class);
+
+    // Extensions reconnues (reprises par RuntimeHintsConfig pour les ressources du classpath)
+    public static final List<String> EXTENSIONS = List.of(".arrow", ".arrows", ".feather");
+
+    private static final byte[] FILE_MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+
+    // Proxy paresseux: l'allocateur n'est créé qu'au premier import Arrow
+    @Lazy
+    @Autowired
+    private BufferAllocator arrowAllocator;
+
+    @Override
+    public String getFormat() {
+        return "Arrow";
+    }
+
+    @Override
+    public boolean supports(String location) {
+        String lower = location.toLowerCase(Locale.ROOT);
+        return EXTENSIONS.stream().anyMatch(lower::endsWith);
+    }
+
+    @Override
+    public ImportResult read(byte[] content, ImportDiagnostics diagnostics, ImportProgress progress, RowSink sink)
+            throws IOException {
+        try (BufferAllocator allocator = arrowAllocator.newChildAllocator("import", 0, Long.MAX_VALUE);
+             ArrowReader reader = open(content, allocator)) {
+
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            logger.info("📊 {} colonnes Arrow détectées", root.getSchema().getFields().size());
+
+            int lines = 0;
+            while (reader.loadNextBatch()) {
+                // Nombre total inconnu d'avance en flux: la progression avance lot par lot
+                progress.setTotalRows(lines + root.getRowCount());
+                lines = decodeBatch(root, reader, lines, diagnostics, progress, sink);
+            }
+            return new ImportResult(lines, 0);
+        }
+    }
+
+    // Format fichier (magic "ARROW1" en tête) ou format flux
+    private ArrowReader open(byte[] content, BufferAllocator allocator) {
+        if (content.length >= FILE_MAGIC.length
+                && Arrays.equals(content, 0, FILE_MAGIC.length, FILE_MAGIC, 0, FILE_MAGIC.length)) {
+            return new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(content), allocator);
+        }
+        return new ArrowStreamReader(new ByteArrayInputStream(content), allocator);
+    }
+
+    private int decodeBatch(VectorSchemaRoot root, DictionaryProvider dictionaries, int firstLine,
+                            ImportDiagnostics diagnostics, ImportProgress progress, RowSink sink) {
+        int rowCount = root.getRowCount();
+        Hospital[] rows = new Hospital[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Hospital();
+        }
+
+        for (HospitalArrowColumns.Column column : HospitalArrowColumns.COLUMNS) {
+            FieldVector vector = root.getVector(column.name());
+            if (vector == null) {
+                diagnostics.missing(column.name(), rowCount);
+                continue;
+            }
+            decodeColumn(column, vector, dictionaries, rows, firstLine, diagnostics);
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            progress.rowProcessed();
+            sink.accept(firstLine + i + 1, rows[i]);
+        }
+        return firstLine + rowCount;
+    }
+
+    private void decodeColumn(HospitalArrowColumns.Column column, FieldVector vector, DictionaryProvider dictionaries,
+                              Hospital[] rows, int firstLine, ImportDiagnostics diagnostics) {
+        int missing = 0;
+        switch (column.kind()) {
+            case TEXT -> {
+                // Colonne encodée par dictionnaire: décodée une fois pour tout le lot
+                DictionaryEncoding encoding = vector.getField().getDictionary();
+                Dictionary dictionary = encoding != null ? dictionaries.lookup(encoding.getId()) : null;
+                if (encoding != null && dictionary == null) {
+                    typeMismatch(column, vector);
+                    return;
+                }
+                try (ValueVector text = dictionary != null ? DictionaryEncoder.decode(vector, dictionary) : null) {
+                    ValueVector values = text != null ? text : vector;
+                    // Utf8, LargeUtf8 et Utf8View: getObject() renvoie un Text décodé en UTF-8
+                    if (!(values instanceof VarCharVector || values instanceof LargeVarCharVector
+                            || values instanceof ViewVarCharVector)) {
+                        typeMismatch(column, vector);
+                        return;
+                    }
+                    for (int i = 0; i < rows.length; i++) {
+                        if (values.isNull(i)) { missing++; continue; }
+                        column.setter().accept(rows[i], values.getObject(i).toString().trim());
+                    }
+                }
+            }
+            case INT -> {
+                if (!(vector instanceof BaseIntVector ints)) {
+                    typeMismatch(column, vector);
+                    return;
+                }
+                for (int i = 0; i < rows.length; i++) {
+                    if (vector.isNull(i)) { missing++; continue; }
+                    long value = ints.getValueAsLong(i);
+                    // Entiers 64 bits (ou non signés) hors plage: erreur signalée, champ laissé vide
+                    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                        diagnostics.error(firstLine + i + 1,
+                                "valeur hors plage '" + value + "' pour " + column.name());
+                        continue;
+                    }
+                    column.setter().accept(rows[i], (int) value);
+                }
+            }
+            case DOUBLE -> {
+                if (vector instanceof FloatingPointVector doubles) {
+                    for (int i = 0; i < rows.length; i++) {
+                        if (vector.isNull(i)) { missing++; continue; }
+                        column.setter().accept(rows[i], doubles.getValueAsDouble(i));
+                    }
+                } else if (vector instanceof BaseIntVector ints) {
+                    for (int i = 0; i < rows.length; i++) {
+                        if (vector.isNull(i)) { missing++; continue; }
+                        column.setter().accept(rows[i], (double) ints.getValueAsLong(i));
+                    }
+                } else {
+                    typeMismatch(column, vector);
+                    return;
+                }
+            }
+            case BOOL -> {
+                if (!(vector instanceof BitVector bits)) {
+                    typeMismatch(column, vector);
+                    return;
+                }
+                for (int i = 0; i < rows.length; i++) {
+                    if (bits.isNull(i)) { missing++; continue; }
+                    column.setter().accept(rows[i], bits.get(i) != 0);
+                }
+            }
+        }
+        if (missing > 0) {
+            diagnostics.missing(column.name(), missing);
+        }
+    }
+
+    private void typeMismatch(HospitalArrowColumns.Column column, FieldVector vector) {
+        logger.warn("⚠️ Colonne '{}' ignorée: type {} inattendu ({} attendu)",
+                column.name(), vector.getField().getType(), HospitalArrowColumns.arrowType(column.kind()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nombre de lits retenus par des réservations actives, par hôpital.
+ *
+ * Sans dépendance: lu par HospitalService et la planification des transferts, alimenté par
+ * BedReservationService (qui dépend lui-même de HospitalService).
+ */
+@Component
+public class BedHoldRegistry {
+
+    private final Map<Long, AtomicInteger> held = new ConcurrentHashMap<>();
+
+    public int held(Long hospitalId) {
+        AtomicInteger count = held.get(hospitalId);
+        return count == null ? 0 : count.get();
+    }
+
+    // Lits disponibles moins les lits retenus
+    public int netAvailable(Long hospitalId, Integer litsDisponibles) {
+        return Math.max(0, (litsDisponibles != null ? litsDisponibles : 0) - held(hospitalId));
+    }
+
+    // Retient "lits" lits si le total retenu reste dans "available" (atomique, sans verrou)
+    public boolean tryHold(Long hospitalId, int lits, int available) {
+        AtomicInteger count = held.computeIfAbsent(hospitalId, id -> new AtomicInteger());
+        while (true) {
+            int current = count.get();
+            if (current + lits > available) return false;
+            if (count.compareAndSet(current, current + lits)) return true;
+        }
+    }
+
+    public void release(Long hospitalId, int lits) {
+        AtomicInteger count = held.get(hospitalId);
+        if (count != null) {
+            count.updateAndGet(v -> Math.max(0, v - lits));
+        }
+    }
+
+    public void clear(Long hospitalId) {
+        held.remove(hospitalId);
+    }
+
+    public void clearAll() {
+        held.clear();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Reservation.BedReservation;
+import com.example.Reservation.HashedTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Réservations de lits à durée limitée (ambulance en route vers l'hôpital).
+ *
+ * Une réservation retient des lits dans BedHoldRegistry sans modifier litsOccupees; la confirmation
+ * les transforme en lits occupés, l'annulation ou l'expiration les libère. Chaque changement de retenue
+ * publie un HOLDS_UPDATED (lits nets à jour dans les index, la carte et les alertes, rien au journal);
+ * la confirmation, qui modifie la base, publie un BEDS_UPDATED. Les expirations
+ * passent par une roue temporelle: coût constant par réservation, quel que soit leur nombre.
+ * Les réservations sont en mémoire, propres à chaque instance: refusées en mode cluster.
+ */
+@Service
+public class BedReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BedReservationService.class);
+
+    @Autowired
+    private BedHoldRegistry bedHolds;
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservation.default-ttl:30m}")
+    private Duration defaultTtl;
+
+    @Value("${reservation.max-ttl:4h}")
+    private Duration maxTtl;
+
+    @Value("${reservation.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${reservation.wheel-size:512}")
+    private int wheelSize;
+
+    // Les retenues ne sont pas partagées entre les nœuds: chaque nœud en accorderait sur les mêmes lits
+    @Value("${cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    private final Map<String, BedReservation> reservations = new ConcurrentHashMap<>();
+    private HashedTimingWheel<String> wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        Gauge.builder("hospital.reservations.active", reservations, Map::size)
+                .description("Réservations de lits en cours")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return !clusterEnabled;
+    }
+
+    // IllegalArgumentException si la demande est invalide, IllegalStateException si les lits manquent,
+    // UnsupportedOperationException en mode cluster
+    public BedReservation reserve(Long hospitalId, int lits, Duration ttl) {
+        if (!isEnabled()) {
+            throw new UnsupportedOperationException("Réservations de lits indisponibles en mode cluster");
+        }
+        if (lits <= 0) {
+            throw new IllegalArgumentException("Le nombre de lits doit être positif");
+        }
+        Duration duration = ttl != null && !ttl.isNegative() && !ttl.isZero() ? ttl : defaultTtl;
+        if (duration.compareTo(maxTtl) > 0) duration = maxTtl;
+
+        // Disponibilité lue en base, pas dans le cache: une occupation récente doit être prise en compte
+        Hospital hospital = hospitalService.findHospital(hospitalId);
+        int available = hospital.getLitsDisponibles() != null ? hospital.getLitsDisponibles() : 0;
+        if (!bedHolds.tryHold(hospitalId, lits, available)) {
+            meterRegistry.counter("hospital.reservations", "result", "rejected").increment();
+            throw new IllegalStateException("Lits insuffisants: " + bedHolds.netAvailable(hospitalId, available)
+                    + " disponible(s) pour " + lits + " demandé(s)");
+        }
+
+        Instant now = Instant.now();
+        BedReservation reservation = new BedReservation(UUID.randomUUID().toString(), hospitalId, lits,
+                now, now.plus(duration));
+        reservations.put(reservation.id(), reservation);
+        wheel.schedule(reservation.id(), reservation.expiresAt().toEpochMilli());
+        meterRegistry.counter("hospital.reservations", "result", "created").increment();
+        hospitalService.publishHoldsUpdated(hospitalId);
+        return reservation;
+    }
+
+    public BedReservation getReservation(String id) {
+        BedReservation reservation = reservations.get(id);
+        return reservation == null || reservation.isExpired(Instant.now()) ? null : reservation;
+    }
+
+    // Les lits retenus deviennent occupés; null si la réservation est inconnue ou expirée,
+    // IllegalStateException (réservation conservée) si l'hôpital n'a plus assez de lits
+    public Hospital confirm(String id) {
+        BedReservation reservation = reservations.get(id);
+        if (reservation == null) return null;
+        synchronized (reservation) {
+            // Confirmée, annulée ou expirée entre-temps
+            if (reservations.get(id) != reservation) return null;
+            if (reservation.isExpired(Instant.now())) {
+                drop(reservation);
+                hospitalService.publishHoldsUpdated(reservation.hospitalId());
+                return null;
+            }
+            // Occupation commitée avant de lâcher la retenue: les lits ne sont jamais comptés libres entre-temps.
+            // Si la transaction échoue (journal compris), la réservation est conservée
+            Hospital hospital = hospitalService.occupyHeldBeds(reservation.hospitalId(), reservation.lits());
+            if (hospital == null) {
+                meterRegistry.counter("hospital.reservations", "result", "confirm_rejected").increment();
+                throw new IllegalStateException("Lits insuffisants pour confirmer la réservation " + id);
+            }
+            drop(reservation);
+            meterRegistry.counter("hospital.reservations", "result", "confirmed").increment();
+            return hospital;
+        }
+    }
+
+    public boolean release(String id) {
+        BedReservation reservation = reservations.get(id);
+        if (reservation == null || !drop(reservation)) return false;
+        meterRegistry.counter("hospital.reservations", "result", "released").increment();
+        hospitalService.publishHoldsUpdated(reservation.hospitalId());
+        return true;
+    }
+
+    @Scheduled(fixedRateString = "${reservation.tick-ms:1000}")
+    public void expire() {
+        Instant now = Instant.now();
+        Set<Long> touched = new HashSet<>();
+        int expired = wheel.advance(now.toEpochMilli(), id -> {
+            BedReservation reservation = reservations.get(id);
+            // Déjà confirmée ou annulée: l'échéance est simplement ignorée
+            if (reservation != null && reservation.isExpired(now) && drop(reservation)) {
+                touched.add(reservation.hospitalId());
+                meterRegistry.counter("hospital.reservations", "result", "expired").increment();
+            }
+        });
+        // Publication hors du verrou de la roue
+        touched.forEach(this::publishIfPresent);
+        if (expired > 0) {
+            logger.debug("{} échéance(s) de réservation traitée(s)", expired);
+        }
+    }
+
+    // Rechargement complet: les hôpitaux (et leurs identifiants) ont pu changer, les retenues sont abandonnées
+    @EventListener
+    public void onDataLoaded(HospitalDataLoadedEvent event) {
+        int dropped = reservations.size();
+        reservations.clear();
+        bedHolds.clearAll();
+        if (dropped > 0) {
+            logger.warn("⚠️ {} réservation(s) de lits abandonnée(s) au rechargement des données", dropped);
+        }
+    }
+
+    // Hôpital supprimé: ses réservations disparaissent avec lui. Disponibilité réduite sous les lits
+    // retenus (PUT /lits, mise à jour complète): les réservations les plus récentes sont révoquées
+    @EventListener
+    public void onHospitalChange(HospitalChangeEvent event) {
+        if (event.getType() == HospitalChangeEvent.Type.DELETED) {
+            reservations.values().removeIf(r -> r.hospitalId().equals(event.getHospitalId()));
+            bedHolds.clear(event.getHospitalId());
+            return;
+        }
+        Hospital hospital = event.getHospital();
+        if (hospital == null || event.isRemote()) return;
+        int available = hospital.getLitsDisponibles() != null ? hospital.getLitsDisponibles() : 0;
+        if (bedHolds.held(event.getHospitalId()) > available) {
+            reconcile(event.getHospitalId(), available);
+        }
+    }
+
+    private void reconcile(Long hospitalId, int available) {
+        List<BedReservation> active = reservations.values().stream()
+                .filter(r -> r.hospitalId().equals(hospitalId))
+                .sorted(Comparator.comparing(BedReservation::createdAt).reversed())
+                .toList();
+        int revoked = 0;
+        for (BedReservation reservation : active) {
+            if (bedHolds.held(hospitalId) <= available) break;
+            if (drop(reservation)) {
+                revoked++;
+                meterRegistry.counter("hospital.reservations", "result", "revoked").increment();
+            }
+        }
+        if (revoked > 0) {
+            logger.warn("⚠️ Hôpital {}: {} réservation(s) révoquée(s), {} lit(s) disponible(s)", hospitalId, revoked, available);
+            hospitalService.publishHoldsUpdated(hospitalId);
+        }
+    }
+
+    // Retire la réservation et libère ses lits; false si elle a déjà été confirmée, annulée ou expirée.
+    // Sous le verrou de la réservation: exclu d'une confirmation en cours
+    private boolean drop(BedReservation reservation) {
+        synchronized (reservation) {
+            if (!reservations.remove(reservation.id(), reservation)) return false;
+            bedHolds.release(reservation.hospitalId(), reservation.lits());
+            return true;
+        }
+    }
+
+    // Hôpital supprimé entre l'expiration et la publication: rien à publier
+    private void publishIfPresent(Long hospitalId) {
+        try {
+            hospitalService.publishHoldsUpdated(hospitalId);
+        } catch (RuntimeException e) {
+            logger.debug("Hôpital {} absent, retenue expirée non publiée", hospitalId);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import com.example.TimeSeries.CapacityMetric;
+import com.example.TimeSeries.CapacitySeries;
+import com.example.TimeSeries.HistoryPoint;
+import com.example.TimeSeries.Resolution;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Historique append-only des capacités (lits occupés, attente urgences, surcharge, ressources).
+ *
+ * Alimenté par les HospitalChangeEvent; seules les valeurs qui changent sont enregistrées.
+ * Les séries sont compressées en mémoire (DeltaChunk) et sauvegardées périodiquement sur disque.
+ * Les séries d'un hôpital supprimé sont closes, puis purgées après history.retention.deleted.
+ */
+@Service
+public class CapacityHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityHistoryService.class);
+
+    private static final int FILE_MAGIC = 0x48484953; // "HHIS"
+    private static final int FILE_VERSION = 2;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${history.file.path:./data/capacity-history.bin}")
+    private String historyFilePath;
+
+    @Value("${history.retention.raw:7d}")
+    private Duration rawRetention;
+
+    @Value("${history.retention.minute:365d}")
+    private Duration minuteRetention;
+
+    @Value("${history.retention.hour:1825d}")
+    private Duration hourRetention;
+
+    // 0 = conservation illimitée
+    @Value("${history.retention.day:0d}")
+    private Duration dayRetention;
+
+    // Séries closes (hôpital supprimé) conservées pour consultation pendant cette durée
+    @Value("${history.retention.deleted:30d}")
+    private Duration deletedRetention;
+
+    private final Map<Long, Map<CapacityMetric, CapacitySeries>> series = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        load();
+        Gauge.builder("hospital.history.bytes", this, CapacityHistoryService::sizeInBytes)
+                .description("Taille compressée de l'historique des capacités")
+                .register(meterRegistry);
+    }
+
+    // Valeurs de départ pour les hôpitaux qui n'ont pas encore d'historique
+    @EventListener
+    public void onDataLoaded(HospitalDataLoadedEvent event) {
+        long now = Instant.now().getEpochSecond();
+        for (Hospital hospital : hospitalRepository.findAll()) {
+            record(hospital, now);
+        }
+    }
+
+    @EventListener
+    public void onHospitalChange(HospitalChangeEvent event) {
+        if (event.getType() == HospitalChangeEvent.Type.DELETED) {
+            // L'historique reste consultable jusqu'à la purge, sans report de la dernière valeur
+            Map<CapacityMetric, CapacitySeries> byMetric = series.get(event.getHospitalId());
+            if (byMetric != null) {
+                byMetric.values().forEach(s -> s.close(event.getTimestamp().getEpochSecond()));
+            }
+            return;
+        }
+        if (event.getHospital() == null) return;
+        record(event.getHospital(), event.getTimestamp().getEpochSecond());
+    }
+
+    public List<HistoryPoint> getHistory(Long hospitalId, CapacityMetric metric, Resolution resolution,
+                                         Instant from, Instant to) {
+        Map<CapacityMetric, CapacitySeries> byMetric = series.get(hospitalId);
+        if (byMetric == null) return Collections.emptyList();
+        return byMetric.get(metric).query(resolution, from.getEpochSecond(), to.getEpochSecond(),
+                Instant.now().getEpochSecond());
+    }
+
+    // Hôpitaux ayant un historique (y compris supprimés), pour l'export
+    public Set<Long> hospitalIds() {
+        return Collections.unmodifiableSet(series.keySet());
+    }
+
+    public long sizeInBytes() {
+        long total = 0;
+        for (Map<CapacityMetric, CapacitySeries> byMetric : series.values()) {
+            for (CapacitySeries s : byMetric.values()) {
+                total += s.sizeInBytes();
+            }
+        }
+        return total;
+    }
+
+    // Rétention + sauvegarde disque
+    @Scheduled(fixedDelayString = "${history.checkpoint-interval-ms:300000}",
+            initialDelayString = "${history.checkpoint-interval-ms:300000}")
+    public void checkpoint() {
+        applyRetention();
+        save();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private void record(Hospital hospital, long epochSecond) {
+        if (hospital.getId() == null) return;
+        Map<CapacityMetric, CapacitySeries> byMetric = series.computeIfAbsent(hospital.getId(), id -> newSeries());
+        for (CapacityMetric metric : CapacityMetric.values()) {
+            Integer value = metric.valueOf(hospital);
+            if (value == null) continue;
+            byMetric.get(metric).recordIfChanged(epochSecond, value);
+        }
+    }
+
+    private static Map<CapacityMetric, CapacitySeries> newSeries() {
+        Map<CapacityMetric, CapacitySeries> byMetric = new EnumMap<>(CapacityMetric.class);
+        for (CapacityMetric metric : CapacityMetric.values()) {
+            byMetric.put(metric, new CapacitySeries());
+        }
+        return byMetric;
+    }
+
+    private void applyRetention() {
+        Map<Resolution, Long> retention = new EnumMap<>(Resolution.class);
+        retention.put(Resolution.RAW, rawRetention.getSeconds());
+        retention.put(Resolution.MINUTE, minuteRetention.getSeconds());
+        retention.put(Resolution.HOUR, hourRetention.getSeconds());
+        retention.put(Resolution.DAY, dayRetention.getSeconds());
+        long now = Instant.now().getEpochSecond();
+        long deletedLimit = now - deletedRetention.getSeconds();
+        int purged = 0;
+        for (Iterator<Map.Entry<Long, Map<CapacityMetric, CapacitySeries>>> it = series.entrySet().iterator(); it.hasNext(); ) {
+            Map<CapacityMetric, CapacitySeries> byMetric = it.next().getValue();
+            if (isClosedBefore(byMetric, deletedLimit)) {
+                it.remove();
+                purged++;
+                continue;
+            }
+            for (CapacitySeries s : byMetric.values()) {
+                s.applyRetention(retention, now);
+            }
+        }
+        if (purged > 0) {
+            logger.info("📈 Historique de {} hôpital(aux) supprimé(s) purgé", purged);
+        }
+    }
+
+    // Toutes les séries closes (ou vides) avant la limite
+    private static boolean isClosedBefore(Map<CapacityMetric, CapacitySeries> byMetric, long limit) {
+        boolean closed = false;
+        for (CapacitySeries s : byMetric.values()) {
+            Long closedAt = s.getClosedAt();
+            if (closedAt == null) {
+                if (s.getLastValue() != null) return false;
+            } else if (closedAt >= limit) {
+                return false;
+            } else {
+                closed = true;
+            }
+        }
+        return closed;
+    }
+
+    private synchronized void save() {
+        if (historyFilePath == null || historyFilePath.isBlank()) return;
+        Path path = Paths.get(historyFilePath).toAbsolutePath();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                Map<Long, Map<CapacityMetric, CapacitySeries>> copy = new HashMap<>(series);
+                out.writeInt(copy.size());
+                for (Map.Entry<Long, Map<CapacityMetric, CapacitySeries>> entry : copy.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    for (CapacityMetric metric : CapacityMetric.values()) {
+                        entry.getValue().get(metric).writeTo(out);
+                    }
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Historique sauvegardé ({} hôpitaux, {} octets)", series.size(), Files.size(path));
+        } catch (IOException e) {
+            logger.warn("⚠️ Sauvegarde de l'historique impossible: {}", e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (historyFilePath == null || historyFilePath.isBlank()) return;
+        Path path = Paths.get(historyFilePath);
+        if (!Files.isRegularFile(path)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                logger.warn("⚠️ Fichier d'historique au format inconnu, ignoré");
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long hospitalId = in.readLong();
+                Map<CapacityMetric, CapacitySeries> byMetric = new EnumMap<>(CapacityMetric.class);
+                for (CapacityMetric metric : CapacityMetric.values()) {
+                    byMetric.put(metric, CapacitySeries.readFrom(in));
+                }
+                series.put(hospitalId, byMetric);
+            }
+            logger.info("📈 Historique rechargé: {} hôpitaux, {} octets", count, sizeInBytes());
+        } catch (IOException e) {
+            series.clear();
+            logger.warn("⚠️ Lecture de l'historique impossible ({}), historique vide", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.Service;
+
+import com.example.Dto.ChangeLogPage;
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Model.ChangeLogSequence;
+import com.example.Model.HospitalChange;
+import com.example.Repository.ChangeLogSequenceRepository;
+import com.example.Repository.HospitalChangeRepository;
+import com.example.Repository.HospitalRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Journal ordonné des modifications d'hôpitaux, pour la synchronisation incrémentale des systèmes aval.
+ *
+ * Chaque mutation locale (création, mise à jour, lits, ressources, suppression) est ajoutée avec un
+ * offset croissant. Un consommateur relit à partir de son dernier offset au lieu de retélécharger la
+ * table. La compaction ne garde que la dernière entrée de chaque hôpital au-delà d'un certain âge:
+ * rejouer le journal depuis 0 donne toujours l'état courant complet.
+ *
+ * L'entrée est écrite dans la transaction de la mutation (HospitalService est transactionnel): la
+ * mutation et son entrée sont commitées ensemble, ou aucune des deux.
+ * Les offsets sont attribués par la ligne ChangeLogSequence, verrouillée jusqu'au commit de l'ajout:
+ * en cluster (base partagée), un offset n'est visible qu'une fois tous les offsets inférieurs commités.
+ * L'époque identifie le journal; un client qui présente une autre époque doit repartir de 0.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    @Autowired
+    private HospitalChangeRepository changeRepository;
+
+    @Autowired
+    private ChangeLogSequenceRepository sequenceRepository;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${changelog.max-page-size:1000}")
+    private int maxPageSize;
+
+    // Les entrées plus récentes restent intactes (historique détaillé pour les consommateurs à jour)
+    @Value("${changelog.compaction.min-age:1h}")
+    private Duration compactionMinAge;
+
+    private volatile String epoch;
+
+    // Charge utile = état persisté: les lits retenus (en mémoire, propres au nœud) en sont exclus
+    private ObjectWriter payloadWriter;
+
+    @JsonIgnoreProperties({"litsReserves", "litsDisponiblesNets"})
+    private abstract static class PersistedHospital {}
+
+    // Séquence créée au premier démarrage sur une base vide, ou reprise après la tête d'un journal existant
+    @PostConstruct
+    public void initSequence() {
+        payloadWriter = objectMapper.copy().addMixIn(Hospital.class, PersistedHospital.class).writer();
+        try {
+            epoch = transactionTemplate.execute(status -> sequenceRepository.findById(ChangeLogSequence.ID)
+                    .orElseGet(() -> sequenceRepository.save(new ChangeLogSequence(
+                            changeRepository.findHeadOffset() + 1, UUID.randomUUID().toString())))
+                    .getEpoch());
+        } catch (DataIntegrityViolationException e) {
+            // Créée au même moment par un autre nœud du cluster
+            epoch = sequenceRepository.findById(ChangeLogSequence.ID).orElseThrow().getEpoch();
+        }
+    }
+
+    // Après chaque chargement (CSV remplacé, snapshot, base vide), le journal est réconcilié avec la table:
+    // DELETED pour les hôpitaux disparus, CREATED pour les nouveaux, UPDATED pour les contenus modifiés.
+    // Un consommateur à jour reçoit donc le remplacement du jeu de données sans repartir de 0
+    @EventListener
+    public void onDataLoaded(HospitalDataLoadedEvent event) {
+        Instant now = Instant.now();
+        List<Hospital> hospitals = hospitalRepository.findAllWithSpecialites();
+        int[] counts = transactionTemplate.execute(status -> {
+            // Verrou de la séquence pendant la comparaison: un seul nœud réconcilie à la fois
+            sequenceRepository.reserve(0);
+            Map<Long, HospitalChange> latest = new HashMap<>();
+            for (HospitalChange change : changeRepository.findLatestPerHospital()) {
+                latest.put(change.getHospitalId(), change);
+            }
+            List<HospitalChange> changes = new ArrayList<>();
+            Set<Long> present = new HashSet<>();
+            int created = 0, updated = 0, deleted = 0;
+            for (Hospital hospital : hospitals) {
+                present.add(hospital.getId());
+                String payload = toJson(hospital);
+                HospitalChange last = latest.get(hospital.getId());
+                if (last == null || isDeletion(last)) {
+                    changes.add(new HospitalChange(hospital.getId(), HospitalChangeEvent.Type.CREATED.name(), payload, now));
+                    created++;
+                } else if (!payload.equals(last.getPayload())) {
+                    changes.add(new HospitalChange(hospital.getId(), HospitalChangeEvent.Type.UPDATED.name(), payload, now));
+                    updated++;
+                }
+            }
+            for (HospitalChange last : latest.values()) {
+                if (!present.contains(last.getHospitalId()) && !isDeletion(last)) {
+                    changes.add(new HospitalChange(last.getHospitalId(), HospitalChangeEvent.Type.DELETED.name(), null, now));
+                    deleted++;
+                }
+            }
+            appendLocked(changes);
+            return new int[]{created, updated, deleted};
+        });
+        if (counts[0] + counts[1] + counts[2] > 0) {
+            logger.info("📜 Journal réconcilié avec les données chargées: {} créations, {} mises à jour, {} suppressions",
+                    counts[0], counts[1], counts[2]);
+        }
+    }
+
+    // Seules les mutations locales sont journalisées: en cluster, le nœud d'origine écrit dans la base partagée.
+    // Les retenues de lits (HOLDS_UPDATED) ne touchent pas la base et ne sont pas journalisées.
+    // Premier écouteur, dans la transaction de la mutation: un échec est propagé et annule la mutation
+    // avant que les index en mémoire ne la voient (pas de trou silencieux dans le journal)
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onHospitalChange(HospitalChangeEvent event) {
+        if (event.isRemote() || event.getType() == HospitalChangeEvent.Type.HOLDS_UPDATED) return;
+        try {
+            String payload = event.getHospital() != null ? toJson(event.getHospital()) : null;
+            append(new HospitalChange(event.getHospitalId(), event.getType().name(), payload, event.getTimestamp()));
+        } catch (RuntimeException e) {
+            meterRegistry.counter("hospital.changelog.append.failures").increment();
+            logger.error("❌ Modification de l'hôpital {} non journalisée, mutation annulée: {}",
+                    event.getHospitalId(), e.getMessage());
+            throw e;
+        }
+    }
+
+    // Rejoint la transaction de la mutation; le flush fait remonter ici les erreurs d'écriture (mutation comprise)
+    private void append(HospitalChange change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            appendLocked(List.of(change));
+            changeRepository.flush();
+        });
+    }
+
+    // À appeler dans une transaction: la réservation verrouille la séquence jusqu'au commit des entrées
+    private void appendLocked(List<HospitalChange> changes) {
+        if (changes.isEmpty()) return;
+        sequenceRepository.reserve(changes.size());
+        long offset = sequenceRepository.findNextOffset() - changes.size();
+        for (HospitalChange change : changes) {
+            change.setOffset(offset++);
+        }
+        changeRepository.saveAll(changes);
+    }
+
+    private static boolean isDeletion(HospitalChange change) {
+        return HospitalChangeEvent.Type.DELETED.name().equals(change.getType());
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getHeadOffset() {
+        return changeRepository.findHeadOffset();
+    }
+
+    public ChangeLogPage getChanges(long since, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        long head = changeRepository.findHeadOffset();
+        List<ChangeLogPage.Entry> entries = changeRepository
+                .findByOffsetGreaterThanOrderByOffsetAsc(since, PageRequest.of(0, size))
+                .stream()
+                .map(c -> new ChangeLogPage.Entry(c.getOffset(), c.getType(), c.getHospitalId(),
+                        c.getChangedAt(), c.getPayload()))
+                .toList();
+        long next = entries.isEmpty() ? Math.max(since, head) : entries.get(entries.size() - 1).offset();
+        return new ChangeLogPage(epoch, entries, next, Math.max(head, next));
+    }
+
+    @Scheduled(fixedDelayString = "${changelog.compaction.interval-ms:600000}",
+            initialDelayString = "${changelog.compaction.interval-ms:600000}")
+    public void compact() {
+        long upTo = changeRepository.findLastOffsetBefore(Instant.now().minus(compactionMinAge));
+        if (upTo == 0) return;
+        int removed = changeRepository.compactUpTo(upTo);
+        if (removed > 0) {
+            meterRegistry.counter("hospital.changelog.compacted").increment(removed);
+            logger.info("📜 Compaction du journal: {} entrées remplacées supprimées (jusqu'à l'offset {})", removed, upTo);
+        }
+    }
+
+    private String toJson(Hospital hospital) {
+        try {
+            return payloadWriter.writeValueAsString(hospital);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation JSON impossible: " + e.getMessage(), e);
+        }
+    }
+}
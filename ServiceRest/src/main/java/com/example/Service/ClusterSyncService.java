@@ -0,0 +1,78 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Propagation des mutations entre réplicas ServiceRest.
+ *
+ * Les réplicas partagent la même base; seul l'identifiant et le type de mutation transitent
+ * sur le topic. Le pair qui reçoit le message relit l'hôpital en base et republie un
+ * HospitalChangeEvent "remote" localement (near-cache, index, etc.).
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterSyncService.class);
+
+    private static final String TOPIC = "hospital-changes";
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ITopic<ChangeMessage> topic;
+
+    public record ChangeMessage(String origin, HospitalChangeEvent.Type type, Long hospitalId) implements Serializable {}
+
+    @PostConstruct
+    public void subscribe() {
+        topic = hazelcastInstance.getTopic(TOPIC);
+        topic.addMessageListener(this::onRemoteChange);
+        logger.info("🔗 Cluster '{}' rejoint ({} membres)", hazelcastInstance.getConfig().getClusterName(),
+                hazelcastInstance.getCluster().getMembers().size());
+    }
+
+    // Mutation locale -> diffusion aux pairs (les retenues de lits restent propres au nœud), après le
+    // commit: les pairs relisent l'hôpital dans la base partagée
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLocalChange(HospitalChangeEvent event) {
+        if (event.isRemote() || event.getType() == HospitalChangeEvent.Type.HOLDS_UPDATED) return;
+        topic.publish(new ChangeMessage(nodeId, event.getType(), event.getHospitalId()));
+    }
+
+    private void onRemoteChange(Message<ChangeMessage> message) {
+        ChangeMessage change = message.getMessageObject();
+        if (nodeId.equals(change.origin())) return;
+
+        Hospital hospital = change.type() == HospitalChangeEvent.Type.DELETED
+                ? null
+                : hospitalRepository.findById(change.hospitalId()).orElse(null);
+        eventPublisher.publishEvent(new HospitalChangeEvent(change.type(), change.hospitalId(), hospital, true));
+        logger.debug("Mutation distante {} sur l'hôpital {}", change.type(), change.hospitalId());
+    }
+}
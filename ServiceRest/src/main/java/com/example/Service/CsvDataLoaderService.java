@@ -1,22 +1,31 @@
 package com.example.Service;
 
+import com.example.Event.HospitalDataLoadedEvent;
 import com.example.Model.Hospital;
+import com.example.Model.ImportState;
 import com.example.Repository.HospitalRepository;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import com.example.Repository.ImportStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StreamUtils;
 
-import jakarta.annotation.PostConstruct;
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 @Service
@@ -24,342 +33,336 @@ public class CsvDataLoaderService {
 
     private static final Logger logger = LoggerFactory.getLogger(CsvDataLoaderService.class);
 
+    private static final String INSERT_HOSPITAL_SQL = "INSERT INTO hospitals (id, nom_hopital, type, ville, "
+            + "telephone, adresse, lits_total, lits_occupees, lits_disponibles, latitude, longitude, urgence_ouvert, "
+            + "temps_attente_urgence, niveau_surcharge, nb_medecins_disponibles, nb_infirmiers_disponibles, "
+            + "nb_ambulances_disponibles, respirateurs_disponibles, bloc_operatoire_disponible) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SPECIALITE_SQL =
+            "INSERT INTO hospital_specialites (hospital_id, specialite) VALUES (?, ?)";
+
     @Autowired
     private HospitalRepository hospitalRepository;
 
+    @Autowired
+    private ImportStateRepository importStateRepository;
+
+    @Autowired
+    private HospitalSnapshotService snapshotService;
+
+    @Autowired
+    private ImportProgress importProgress;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
     @Autowired
     private ResourceLoader resourceLoader;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Importeurs disponibles (CSV, Arrow...), choisis d'après l'extension de csv.file.path
+    @Autowired
+    private List<HospitalImporter> importers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${csv.file.path:data/hospitaldata.csv}")
     private String csvFilePath;
 
-    @PostConstruct
+    @Value("${csv.import.max-logged-errors:10}")
+    private int maxLoggedErrors;
+
+    // Base persistante: ne pas réimporter un CSV déjà chargé (conserve l'état lits/ressources)
+    @Value("${csv.import.skip-if-current:true}")
+    private boolean skipIfCurrent;
+
+    // Import en arrière-plan: le port HTTP s'ouvre tout de suite, la readiness reste DOWN jusqu'à la fin
+    @Value("${csv.import.async:true}")
+    private boolean asyncImport;
+
+    // Taille des lots envoyés à la base dans la transaction de remplacement
+    @Value("${csv.import.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationStartedEvent.class)
     public void init() {
-        logger.info("🚀 Initialisation du chargement CSV...");
-        loadHospitalsFromCsv();
+        logger.info("🚀 Initialisation du chargement CSV ({})...", asyncImport ? "asynchrone" : "synchrone");
+        importProgress.start(csvFilePath);
+        if (asyncImport) {
+            taskExecutor.execute(this::loadHospitalsFromCsv);
+        } else {
+            loadHospitalsFromCsv();
+        }
     }
 
     public void loadHospitalsFromCsv() {
+        if (importProgress.getState() != ImportProgress.State.RUNNING) {
+            importProgress.start(csvFilePath);
+        }
+        Timer.Sample importTimer = Timer.start(meterRegistry);
+        Counter rowsSuccess = meterRegistry.counter("hospital.csv.import.rows", "result", "success");
+        Counter rowsError = meterRegistry.counter("hospital.csv.import.rows", "result", "error");
+        String failure = null;
         try {
-            Resource resource = resourceLoader.getResource("classpath:" + csvFilePath);
+            Resource resource = resourceLoader.getResource(resourceLocation(csvFilePath));
 
             if (!resource.exists()) {
-                logger.error("❌ Fichier CSV non trouvé: {}", csvFilePath);
+                // Base persistante déjà remplie: on sert le jeu existant; sinon l'import échoue (API fermée)
+                long existing = hospitalRepository.count();
+                if (existing > 0) {
+                    logger.warn("⚠️ Fichier CSV non trouvé: {}, {} hôpitaux existants conservés", csvFilePath, existing);
+                } else {
+                    logger.error("❌ Fichier CSV non trouvé: {}", csvFilePath);
+                    failure = "Fichier introuvable: " + csvFilePath;
+                }
                 return;
             }
 
-            logger.info("📁 Fichier CSV trouvé: {}", resource.getURI());
+            HospitalImporter importer = importers.stream()
+                    .filter(i -> i.supports(csvFilePath))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Aucun importeur pour le fichier: " + csvFilePath));
+            logger.info("📁 Fichier {} trouvé: {}", importer.getFormat(), resource.getURI());
 
-            // Lire le contenu brut pour vérifier le BOM
+            // Contenu brut (checksum sur les octets exacts du fichier)
             byte[] fileBytes = StreamUtils.copyToByteArray(resource.getInputStream());
-            String fileContent = new String(fileBytes, StandardCharsets.UTF_8);
-
-            // Vérifier et supprimer le BOM si présent
-            if (fileContent.startsWith("\uFEFF")) {
-                logger.info("⚠️ BOM détecté dans le fichier CSV, suppression...");
-                fileContent = fileContent.substring(1); // Supprimer le BOM
-            }
+            String checksum = sha256(fileBytes);
 
-            // Lire les premières lignes pour debug
-            String[] lines = fileContent.split("\n", 4);
-            logger.info("📄 Premières lignes (sans BOM):");
-            for (int i = 0; i < Math.min(3, lines.length); i++) {
-                logger.info("Ligne {}: {}", i + 1, lines[i]);
+            if (isAlreadyImported(checksum)) {
+                logger.info("⏩ CSV inchangé depuis le dernier import ({} hôpitaux en base), import ignoré",
+                        hospitalRepository.count());
+                return;
             }
 
-            // Utiliser le contenu nettoyé
-            Reader reader = new StringReader(fileContent);
-
-            // Configurer le parser CSV
-            CSVParser csvParser = CSVFormat.DEFAULT
-                    .withDelimiter(';')
-                    .withFirstRecordAsHeader()
-                    .withIgnoreHeaderCase()
-                    .withTrim()
-                    .withIgnoreEmptyLines()
-                    .parse(reader);
-
-            // Afficher les en-têtes CORRIGÉS (sans BOM)
-            Map<String, Integer> headerMap = csvParser.getHeaderMap();
-            logger.info("📊 En-têtes détectés ({}):", headerMap.size());
-
-            List<String> cleanedHeaders = new ArrayList<>();
-            for (String header : headerMap.keySet()) {
-                // Nettoyer chaque en-tête des caractères invisibles
-                String cleanedHeader = cleanHeader(header);
-                cleanedHeaders.add(cleanedHeader);
-                logger.info("  - Original: '{}' → Nettoyé: '{}'",
-                        escapeSpecialChars(header), cleanedHeader);
+            // Snapshot binaire à jour: pas de parsing CSV
+            List<Hospital> fromSnapshot = snapshotService.read(checksum);
+            if (fromSnapshot != null && !fromSnapshot.isEmpty()) {
+                importProgress.setTotalRows(fromSnapshot.size());
+                List<Hospital> savedHospitals = restoreSnapshot(fromSnapshot, checksum);
+                logger.info("✅ {} hôpitaux restaurés depuis le snapshot", savedHospitals.size());
+                return;
             }
 
+            // Lecture complète avant toute écriture: un fichier illisible laisse la base intacte
+            ImportDiagnostics diagnostics = new ImportDiagnostics(maxLoggedErrors);
             List<Hospital> hospitals = new ArrayList<>();
-            int lineNumber = 0;
-            int successCount = 0;
-            int errorCount = 0;
-
-            for (CSVRecord record : csvParser) {
-                lineNumber++;
-                logger.info("\n--- Traitement ligne {} ---", lineNumber);
-
-                // Afficher les données brutes pour debug
-                logger.info("Données brutes: {}", record.toString());
-
-                try {
-                    Hospital hospital = mapCsvToHospital(record, lineNumber, cleanedHeaders);
-
-                    if (hospital == null) {
-                        logger.warn("⚠️ Ligne {}: Hospital est null", lineNumber);
-                        errorCount++;
-                        continue;
-                    }
-
-                    // Vérification CRITIQUE
-                    if (hospital.getNomHopital() == null || hospital.getNomHopital().trim().isEmpty()) {
-                        logger.warn("⚠️ Ligne {} ignorée: NomHopital est vide ou null", lineNumber);
-                        logger.info("Hospital object: {}", hospital);
-                        errorCount++;
-                        continue;
-                    }
-
-                    // Calculer les lits disponibles si nécessaire
-                    if (hospital.getLitsDisponibles() == null &&
-                            hospital.getLitsTotal() != null &&
-                            hospital.getLitsOccupees() != null) {
-                        hospital.setLitsDisponibles(hospital.getLitsTotal() - hospital.getLitsOccupees());
-                    }
-
-                    hospitals.add(hospital);
-                    successCount++;
-                    logger.info("✅ Ligne {} traitée: {} (Ville: {}, Lits: {})",
-                            lineNumber, hospital.getNomHopital(), hospital.getVille(), hospital.getLitsTotal());
-
-                } catch (Exception e) {
-                    logger.error("❌ Erreur ligne {}: {}", lineNumber, e.getMessage(), e);
-                    errorCount++;
-                }
-            }
+            int[] rejected = new int[1];
+
+            HospitalImporter.ImportResult result = importer.read(fileBytes, diagnostics, importProgress,
+                    (lineNumber, hospital) -> {
+                        // Vérification CRITIQUE
+                        if (hospital.getNomHopital() == null || hospital.getNomHopital().trim().isEmpty()) {
+                            diagnostics.error(lineNumber, "NomHopital vide ou null");
+                            rejected[0]++;
+                            return;
+                        }
 
-            if (!hospitals.isEmpty()) {
-                try {
-                    logger.info("💾 Sauvegarde de {} hôpitaux en base...", hospitals.size());
-                    List<Hospital> savedHospitals = hospitalRepository.saveAll(hospitals);
-                    logger.info("✅ SUCCÈS! {} hôpitaux sauvegardés ({} succès, {} erreurs)",
-                            savedHospitals.size(), successCount, errorCount);
-
-                    // Vérifier la base
-                    long countInDb = hospitalRepository.count();
-                    logger.info("📊 Nombre total d'hôpitaux en base: {}", countInDb);
-
-                    if (countInDb > 0) {
-                        List<Hospital> firstThree = hospitalRepository.findAll().stream()
-                                .limit(3)
-                                .toList();
-                        logger.info("📋 Échantillon:");
-                        for (Hospital h : firstThree) {
-                            logger.info("  - ID: {}, Nom: {}, Ville: {}, Lits: {}",
-                                    h.getId(), h.getNomHopital(), h.getVille(), h.getLitsTotal());
+                        // Calculer les lits disponibles si nécessaire
+                        if (hospital.getLitsDisponibles() == null &&
+                                hospital.getLitsTotal() != null &&
+                                hospital.getLitsOccupees() != null) {
+                            hospital.setLitsDisponibles(hospital.getLitsTotal() - hospital.getLitsOccupees());
                         }
-                    }
 
-                } catch (Exception e) {
-                    logger.error("❌ ERREUR lors de la sauvegarde: {}", e.getMessage(), e);
-                }
-            } else {
-                logger.warn("⚠️ Aucun hôpital chargé (succès: {}, erreurs: {})", successCount, errorCount);
+                        hospitals.add(hospital);
+                    });
+
+            int successCount = hospitals.size();
+            int errorCount = rejected[0] + result.errors();
+            diagnostics.logSummary(importer.getFormat(), result.lines(), successCount, errorCount);
+            rowsSuccess.increment(successCount);
+            rowsError.increment(errorCount);
+
+            if (hospitals.isEmpty()) {
+                logger.warn("⚠️ Aucun hôpital chargé (succès: {}, erreurs: {}), données existantes conservées",
+                        successCount, errorCount);
+                return;
             }
 
-            csvParser.close();
-            reader.close();
+            List<Hospital> savedHospitals = replaceDataset(hospitals, checksum);
+            snapshotService.write(checksum, savedHospitals);
+            logger.info("✅ {} hôpitaux sauvegardés ({} succès, {} erreurs)",
+                    savedHospitals.size(), successCount, errorCount);
+
+            // Échantillon uniquement en debug: évite un findAll() complet au démarrage
+            if (logger.isDebugEnabled()) {
+                for (Hospital h : savedHospitals.stream().limit(3).toList()) {
+                    logger.debug("  - ID: {}, Nom: {}, Ville: {}, Lits: {}",
+                            h.getId(), h.getNomHopital(), h.getVille(), h.getLitsTotal());
+                }
+            }
 
         } catch (Exception e) {
-            logger.error("❌ Erreur fatale lors du chargement CSV: {}", e.getMessage(), e);
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            meterRegistry.counter("hospital.csv.import.failures").increment();
+            logger.error("❌ Erreur fatale lors du chargement CSV, données existantes conservées: {}",
+                    e.getMessage(), e);
+        } finally {
+            importTimer.stop(meterRegistry.timer("hospital.csv.import.duration"));
+            // Après le timer: la durée d'import ne couvre que lecture + sauvegarde, pas les index dérivés
+            completeImport(failure);
         }
     }
 
-    private Hospital mapCsvToHospital(CSVRecord record, int lineNumber, List<String> cleanedHeaders) {
+    // Chemin relatif au classpath par défaut; un préfixe explicite (file:, classpath:) est respecté
+    static String resourceLocation(String path) {
+        return path.matches("^[a-zA-Z][a-zA-Z0-9+.-]+:.*") ? path : "classpath:" + path;
+    }
+
+    // Fin d'import: les index en mémoire sont construits avant que la readiness passe UP.
+    // Après un échec la base garde le jeu précédent, les index sont reconstruits sur celui-ci.
+    private void completeImport(String failure) {
         try {
-            Hospital hospital = new Hospital();
-
-            // Récupérer les noms de colonnes CORRIGÉS
-            Map<String, String> recordMap = new HashMap<>();
-            Map<String, Integer> headerMap = record.getParser().getHeaderMap();
-
-            // Créer une map avec les noms nettoyés
-            for (Map.Entry<String, Integer> entry : headerMap.entrySet()) {
-                String originalHeader = entry.getKey();
-                String cleanedHeader = cleanHeader(originalHeader);
-                String value = record.get(originalHeader);
-                recordMap.put(cleanedHeader, value);
-                logger.debug("Colonne: '{}' → '{}' = '{}'",
-                        escapeSpecialChars(originalHeader), cleanedHeader, value);
+            eventPublisher.publishEvent(new HospitalDataLoadedEvent((int) hospitalRepository.count()));
+        } catch (RuntimeException e) {
+            logger.error("❌ Erreur lors de la construction des index: {}", e.getMessage(), e);
+            if (failure == null) {
+                failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
             }
+        }
+        if (failure == null) {
+            importProgress.complete();
+        } else {
+            importProgress.fail(failure);
+        }
+    }
 
-            logger.info("🔍 Noms de colonnes disponibles: {}", recordMap.keySet());
-
-            // 1. NomHopital - GÉRER LE BOM
-            String nomHopital = getValueFromMap(recordMap, lineNumber,
-                    "NomHopital", "nomhopital", "nom_hopital", "nom");
-            hospital.setNomHopital(nomHopital);
-            logger.info("  NomHopital: '{}'", nomHopital);
-
-            // 2. Type
-            hospital.setType(getValueFromMap(recordMap, lineNumber, "Type", "type"));
-
-            // 3. Ville - VOTRE CSV a "Ville " avec espace
-            hospital.setVille(getValueFromMap(recordMap, lineNumber, "Ville", "ville", "Ville "));
-
-            // 4. Telephone
-            hospital.setTelephone(getValueFromMap(recordMap, lineNumber, "Telephone", "telephone", "tel"));
-
-            // 5. Adresse - VOTRE CSV a "Adresse " avec espace
-            hospital.setAdresse(getValueFromMap(recordMap, lineNumber, "Adresse", "adresse", "Adresse "));
-
-            // 6. LitsTotales
-            Integer litsTotal = getIntegerFromMap(recordMap, lineNumber, "LitsTotales", "litstotales", "lits_total");
-            hospital.setLitsTotal(litsTotal);
-
-            // 7. litsOccupees
-            Integer litsOccupees = getIntegerFromMap(recordMap, lineNumber, "litsOccupees", "litsoccupees", "lits_occupees");
-            hospital.setLitsOccupees(litsOccupees);
-
-            // 8. litsDisponibles
-            Integer litsDisponibles = getIntegerFromMap(recordMap, lineNumber, "litsDisponibles", "litsdisponibles", "lits_disponibles");
-            hospital.setLitsDisponibles(litsDisponibles);
+    // Remplacement atomique du jeu de données: suppression, insertion par lots et état d'import
+    // dans une seule transaction, les lecteurs voient l'ancien jeu jusqu'au commit.
+    // Un hôpital déjà présent (même nom et même ville) garde son identifiant: historique, journal,
+    // alertes et réservations, indexés par id, restent valables après un réimport
+    private List<Hospital> replaceDataset(List<Hospital> hospitals, String checksum) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int kept = assignIds(hospitals);
+            deleteExisting(kept);
+            insertWithIds(hospitals);
+            importStateRepository.save(new ImportState(csvFilePath, checksum, hospitals.size()));
+        });
+        restartIdentity(hospitals);
+        return hospitals;
+    }
 
-            // 9. Spécialités
-            String specialites = getValueFromMap(recordMap, lineNumber,
-                    "Specialites Principales", "specialites", "specialites_principales");
-            if (specialites != null && !specialites.trim().isEmpty()) {
-                // Votre CSV utilise ", " comme séparateur
-                String[] specialitesArray = specialites.split(",\\s*");
-                List<String> specialitesList = Arrays.asList(specialitesArray);
-                hospital.setSpecialitesPrincipales(specialitesList);
-                logger.info("  Specialites: {}", specialitesList);
-            }
+    // Restauration du snapshot avec ses identifiants d'origine (historique, journal et favoris clients
+    // y font référence): insertion SQL directe, l'identité JPA en attribuerait de nouveaux
+    private List<Hospital> restoreSnapshot(List<Hospital> hospitals, String checksum) {
+        if (hospitals.stream().anyMatch(h -> h.getId() == null)) {
+            return replaceDataset(hospitals, checksum);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteExisting(0);
+            insertWithIds(hospitals);
+            importStateRepository.save(new ImportState(csvFilePath, checksum, hospitals.size()));
+        });
+        restartIdentity(hospitals);
+        return hospitals;
+    }
 
-            // 10. Latitude
-            Double latitude = getDoubleFromMap(recordMap, lineNumber, "latitude", "lat");
-            hospital.setLatitude(latitude);
-
-            // 11. Longitude
-            Double longitude = getDoubleFromMap(recordMap, lineNumber, "longitude", "long", "lon");
-            hospital.setLongitude(longitude);
-
-            // 12. urgence_ouvert
-            Boolean urgenceOuvert = getBooleanFromMap(recordMap, lineNumber,
-                    "urgence_ouvert", "urgenceouvert", "urgence");
-            hospital.setUrgenceOuvert(urgenceOuvert);
-
-            // 13. temps_attente_urgence - VOTRE CSV a "61.0" (Double)
-            Double tempsAttente = getDoubleFromMap(recordMap, lineNumber,
-                    "temps_attente_urgence", "tempsattente", "temps_attente");
-            if (tempsAttente != null) {
-                hospital.setTempsAttenteUrgence(tempsAttente.intValue());
-                logger.info("  temps_attente_urgence: {} (de {})",
-                        tempsAttente.intValue(), tempsAttente);
+    // Identifiants repris des hôpitaux en base par clé naturelle (nom + ville); les nouveaux suivent
+    // le plus grand identifiant existant. Retourne le nombre d'identifiants conservés
+    private int assignIds(List<Hospital> hospitals) {
+        Map<String, Deque<Long>> existing = new HashMap<>();
+        long[] maxId = {0};
+        jdbcTemplate.query("SELECT id, nom_hopital, ville FROM hospitals ORDER BY id", rs -> {
+            long id = rs.getLong(1);
+            existing.computeIfAbsent(naturalKey(rs.getString(2), rs.getString(3)), k -> new ArrayDeque<>()).add(id);
+            maxId[0] = Math.max(maxId[0], id);
+        });
+        int kept = 0;
+        long nextId = maxId[0] + 1;
+        for (Hospital h : hospitals) {
+            // Doublons de clé dans le fichier: repris dans l'ordre, les suivants reçoivent un nouvel id
+            Deque<Long> ids = existing.get(naturalKey(h.getNomHopital(), h.getVille()));
+            Long id = ids != null ? ids.poll() : null;
+            if (id != null) {
+                kept++;
+            } else {
+                id = nextId++;
             }
-
-            // 14. niveau_surcharge
-            hospital.setNiveauSurcharge(getValueFromMap(recordMap, lineNumber,
-                    "niveau_surcharge", "niveausurcharge", "surcharge"));
-
-            // 15-18. Les nombres disponibles
-            hospital.setNbMedecinsDisponibles(getIntegerFromMap(recordMap, lineNumber,
-                    "nb_medecins_disponibles", "nbmedecins"));
-            hospital.setNbInfirmiersDisponibles(getIntegerFromMap(recordMap, lineNumber,
-                    "nb_infirmiers_disponibles", "nbinfirmiers"));
-            hospital.setNbAmbulancesDisponibles(getIntegerFromMap(recordMap, lineNumber,
-                    "nb_ambulances_disponibles", "nbambulances"));
-            hospital.setRespirateursDisponibles(getIntegerFromMap(recordMap, lineNumber,
-                    "respirateurs_disponibles", "respirateurs"));
-
-            // 19. bloc_operatoire_disponible
-            hospital.setBlocOperatoireDisponible(getBooleanFromMap(recordMap, lineNumber,
-                    "bloc_operatoire_disponible", "blocoperatoire", "bloc"));
-
-            return hospital;
-
-        } catch (Exception e) {
-            logger.error("❌ Erreur mapping ligne {}: {}", lineNumber, e.getMessage(), e);
-            return null;
+            h.setId(id);
         }
+        return kept;
     }
 
-    // Méthodes helper pour nettoyer et chercher les valeurs
-    private String cleanHeader(String header) {
-        if (header == null) return null;
-        // Supprimer le BOM et autres caractères invisibles
-        String cleaned = header.replace("\uFEFF", "")  // BOM
-                .replace("\u200B", "")  // Zero-width space
-                .trim();
-        // Normaliser les espaces
-        cleaned = cleaned.replaceAll("\\s+", " ").trim();
-        return cleaned;
+    static String naturalKey(String nomHopital, String ville) {
+        return normalizeKey(nomHopital) + "|" + normalizeKey(ville);
     }
 
-    private String escapeSpecialChars(String text) {
-        if (text == null) return "null";
-        return text.chars()
-                .mapToObj(c -> c < 32 ? String.format("\\u%04x", c) : String.valueOf((char)c))
-                .collect(java.util.stream.Collectors.joining());
+    private static String normalizeKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
     }
 
-    private String getValueFromMap(Map<String, String> map, int lineNumber, String... possibleKeys) {
-        for (String key : possibleKeys) {
-            String value = map.get(key);
-            if (value != null && !value.trim().isEmpty()) {
-                return value.trim();
-            }
-            // Essayer sans espaces à la fin
-            String trimmedKey = key.trim();
-            if (!trimmedKey.equals(key)) {
-                value = map.get(trimmedKey);
-                if (value != null && !value.trim().isEmpty()) {
-                    return value.trim();
+    private void insertWithIds(List<Hospital> hospitals) {
+        for (int from = 0; from < hospitals.size(); from += batchSize) {
+            List<Hospital> batch = hospitals.subList(from, Math.min(from + batchSize, hospitals.size()));
+            jdbcTemplate.batchUpdate(INSERT_HOSPITAL_SQL, batch, batch.size(), (ps, h) -> {
+                ps.setLong(1, h.getId());
+                ps.setString(2, h.getNomHopital());
+                ps.setString(3, h.getType());
+                ps.setString(4, h.getVille());
+                ps.setString(5, h.getTelephone());
+                ps.setString(6, h.getAdresse());
+                ps.setObject(7, h.getLitsTotal());
+                ps.setObject(8, h.getLitsOccupees());
+                ps.setObject(9, h.getLitsDisponibles());
+                ps.setObject(10, h.getLatitude());
+                ps.setObject(11, h.getLongitude());
+                ps.setObject(12, h.getUrgenceOuvert());
+                ps.setObject(13, h.getTempsAttenteUrgence());
+                ps.setString(14, h.getNiveauSurcharge());
+                ps.setObject(15, h.getNbMedecinsDisponibles());
+                ps.setObject(16, h.getNbInfirmiersDisponibles());
+                ps.setObject(17, h.getNbAmbulancesDisponibles());
+                ps.setObject(18, h.getRespirateursDisponibles());
+                ps.setObject(19, h.getBlocOperatoireDisponible());
+            });
+            List<Object[]> specialites = new ArrayList<>();
+            for (Hospital h : batch) {
+                if (h.getSpecialitesPrincipales() == null) continue;
+                for (String specialite : h.getSpecialitesPrincipales()) {
+                    specialites.add(new Object[]{h.getId(), specialite});
                 }
             }
+            jdbcTemplate.batchUpdate(INSERT_SPECIALITE_SQL, specialites);
+            importProgress.rowsSaved(batch.size());
         }
-        logger.warn("Ligne {}: Aucune valeur pour les clés: {}", lineNumber, Arrays.toString(possibleKeys));
-        return null;
     }
 
-    private Integer getIntegerFromMap(Map<String, String> map, int lineNumber, String... possibleKeys) {
-        String value = getValueFromMap(map, lineNumber, possibleKeys);
-        if (value == null) return null;
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            logger.warn("Ligne {}: Valeur non numérique '{}' pour {}", lineNumber, value, Arrays.toString(possibleKeys));
-            return null;
-        }
+    // Hors transaction (DDL): les prochains identifiants générés suivent les identifiants insérés
+    private void restartIdentity(List<Hospital> hospitals) {
+        long nextId = hospitals.stream().mapToLong(Hospital::getId).max().orElse(0) + 1;
+        jdbcTemplate.execute("ALTER TABLE hospitals ALTER COLUMN id RESTART WITH " + nextId);
     }
 
-    private Double getDoubleFromMap(Map<String, String> map, int lineNumber, String... possibleKeys) {
-        String value = getValueFromMap(map, lineNumber, possibleKeys);
-        if (value == null) return null;
-        try {
-            return Double.parseDouble(value.replace(',', '.'));
-        } catch (NumberFormatException e) {
-            logger.warn("Ligne {}: Valeur non numérique '{}' pour {}", lineNumber, value, Arrays.toString(possibleKeys));
-            return null;
+    // Suppression en masse (spécialités comprises), sans charger les entités
+    private void deleteExisting(int kept) {
+        long count = hospitalRepository.count();
+        if (count > 0) {
+            logger.info("🔄 CSV modifié depuis le dernier import, remplacement des {} hôpitaux existants ({} identifiants conservés)",
+                    count, kept);
+            hospitalRepository.deleteAllInBatch();
         }
     }
 
-    private Boolean getBooleanFromMap(Map<String, String> map, int lineNumber, String... possibleKeys) {
-        String value = getValueFromMap(map, lineNumber, possibleKeys);
-        if (value == null) return null;
+    private boolean isAlreadyImported(String checksum) {
+        if (!skipIfCurrent) return false;
+        return importStateRepository.findById(csvFilePath)
+                .map(state -> checksum.equals(state.getChecksum()) && hospitalRepository.count() > 0)
+                .orElse(false);
+    }
 
-        String lowerValue = value.toLowerCase().trim();
-        if (lowerValue.equals("true") || lowerValue.equals("vrai") ||
-                lowerValue.equals("1") || lowerValue.equals("oui") ||
-                lowerValue.equals("yes") || value.equals("VRAI")) {
-            return true;
-        }
-        if (lowerValue.equals("false") || lowerValue.equals("faux") ||
-                lowerValue.equals("0") || lowerValue.equals("non") ||
-                lowerValue.equals("no")) {
-            return false;
-        }
-        return null;
+    private String sha256(byte[] content) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        return HexFormat.of().formatHex(digest);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,308 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Import du CSV hospitalier (séparateur ';', en-têtes tolérants: BOM, espaces, variantes de noms)
+@Component
+@Order(0)
+public class CsvHospitalImporter implements HospitalImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvHospitalImporter.class);
+
+    @Override
+    public String getFormat() {
+        return "CSV";
+    }
+
+    @Override
+    public boolean supports(String location) {
+        return location.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    @Override
+    public ImportResult read(byte[] content, ImportDiagnostics diagnostics, ImportProgress progress, RowSink sink)
+            throws IOException {
+        String fileContent = new String(content, StandardCharsets.UTF_8);
+
+        // Vérifier et supprimer le BOM si présent
+        if (fileContent.startsWith("\uFEFF")) {
+            logger.debug("BOM détecté dans le fichier CSV, suppression");
+            fileContent = fileContent.substring(1); // Supprimer le BOM
+        }
+
+        // Lire les premières lignes pour debug
+        if (logger.isDebugEnabled()) {
+            String[] lines = fileContent.split("\n", 4);
+            for (int i = 0; i < Math.min(3, lines.length); i++) {
+                logger.debug("Ligne {}: {}", i + 1, lines[i]);
+            }
+        }
+
+        progress.setTotalRows(countRecords(fileContent));
+
+        // Configurer le parser CSV
+        try (Reader reader = new StringReader(fileContent);
+             CSVParser csvParser = CSVFormat.DEFAULT
+                     .withDelimiter(';')
+                     .withFirstRecordAsHeader()
+                     .withIgnoreHeaderCase()
+                     .withTrim()
+                     .withIgnoreEmptyLines()
+                     .parse(reader)) {
+
+            // Nettoyer les en-têtes une seule fois: nom nettoyé -> index de colonne
+            Map<String, Integer> headerMap = csvParser.getHeaderMap();
+            Map<String, Integer> columns = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : headerMap.entrySet()) {
+                String cleanedHeader = cleanHeader(entry.getKey());
+                columns.put(cleanedHeader, entry.getValue());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("En-tête: '{}' → '{}'", escapeSpecialChars(entry.getKey()), cleanedHeader);
+                }
+            }
+            logger.info("📊 {} en-têtes détectés", columns.size());
+
+            int lineNumber = 0;
+            int errorCount = 0;
+            for (CSVRecord record : csvParser) {
+                lineNumber++;
+                progress.rowProcessed();
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Ligne {} brute: {}", lineNumber, record);
+                }
+
+                Hospital hospital = mapCsvToHospital(record, lineNumber, columns, diagnostics);
+                if (hospital == null) {
+                    diagnostics.error(lineNumber, "ligne illisible");
+                    errorCount++;
+                    continue;
+                }
+                sink.accept(lineNumber, hospital);
+            }
+            return new ImportResult(lineNumber, errorCount);
+        }
+    }
+
+    // Nombre d'enregistrements hors en-tête: les retours à la ligne entre guillemets ne séparent pas
+    // deux enregistrements, les lignes vides sont ignorées comme par le parser
+    static int countRecords(String content) {
+        int records = 0;
+        boolean inQuotes = false;
+        boolean lineHasContent = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes; // "" dans un champ bascule deux fois
+                lineHasContent = true;
+            } else if ((c == '\n' || c == '\r') && !inQuotes) {
+                if (lineHasContent) records++;
+                lineHasContent = false;
+            } else if (!Character.isWhitespace(c)) {
+                lineHasContent = true;
+            }
+        }
+        if (lineHasContent) records++;
+        return Math.max(0, records - 1);
+    }
+
+    private Hospital mapCsvToHospital(CSVRecord record, int lineNumber, Map<String, Integer> columns,
+                                      ImportDiagnostics diagnostics) {
+        try {
+            Hospital hospital = new Hospital();
+
+            // Valeurs de la ligne indexées par nom de colonne nettoyé (en-têtes nettoyés une seule fois)
+            RowValues recordMap = new RowValues(record, columns, diagnostics);
+
+            // 1. NomHopital - GÉRER LE BOM
+            String nomHopital = getValueFromMap(recordMap, lineNumber,
+                    "NomHopital", "nomhopital", "nom_hopital", "nom");
+            hospital.setNomHopital(nomHopital);
+
+            // 2. Type
+            hospital.setType(getValueFromMap(recordMap, lineNumber, "Type", "type"));
+
+            // 3. Ville - VOTRE CSV a "Ville " avec espace
+            hospital.setVille(getValueFromMap(recordMap, lineNumber, "Ville", "ville", "Ville "));
+
+            // 4. Telephone
+            hospital.setTelephone(getValueFromMap(recordMap, lineNumber, "Telephone", "telephone", "tel"));
+
+            // 5. Adresse - VOTRE CSV a "Adresse " avec espace
+            hospital.setAdresse(getValueFromMap(recordMap, lineNumber, "Adresse", "adresse", "Adresse "));
+
+            // 6. LitsTotales
+            Integer litsTotal = getIntegerFromMap(recordMap, lineNumber, "LitsTotales", "litstotales", "lits_total");
+            hospital.setLitsTotal(litsTotal);
+
+            // 7. litsOccupees
+            Integer litsOccupees = getIntegerFromMap(recordMap, lineNumber, "litsOccupees", "litsoccupees", "lits_occupees");
+            hospital.setLitsOccupees(litsOccupees);
+
+            // 8. litsDisponibles
+            Integer litsDisponibles = getIntegerFromMap(recordMap, lineNumber, "litsDisponibles", "litsdisponibles", "lits_disponibles");
+            hospital.setLitsDisponibles(litsDisponibles);
+
+            // 9. Spécialités
+            String specialites = getValueFromMap(recordMap, lineNumber,
+                    "Specialites Principales", "specialites", "specialites_principales");
+            if (specialites != null && !specialites.trim().isEmpty()) {
+                // Votre CSV utilise ", " comme séparateur
+                String[] specialitesArray = specialites.split(",\\s*");
+                List<String> specialitesList = Arrays.asList(specialitesArray);
+                hospital.setSpecialitesPrincipales(specialitesList);
+            }
+
+            // 10. Latitude
+            Double latitude = getDoubleFromMap(recordMap, lineNumber, "latitude", "lat");
+            hospital.setLatitude(latitude);
+
+            // 11. Longitude
+            Double longitude = getDoubleFromMap(recordMap, lineNumber, "longitude", "long", "lon");
+            hospital.setLongitude(longitude);
+
+            // 12. urgence_ouvert
+            Boolean urgenceOuvert = getBooleanFromMap(recordMap, lineNumber,
+                    "urgence_ouvert", "urgenceouvert", "urgence");
+            hospital.setUrgenceOuvert(urgenceOuvert);
+
+            // 13. temps_attente_urgence - VOTRE CSV a "61.0" (Double)
+            Double tempsAttente = getDoubleFromMap(recordMap, lineNumber,
+                    "temps_attente_urgence", "tempsattente", "temps_attente");
+            if (tempsAttente != null) {
+                hospital.setTempsAttenteUrgence(tempsAttente.intValue());
+            }
+
+            // 14. niveau_surcharge
+            hospital.setNiveauSurcharge(getValueFromMap(recordMap, lineNumber,
+                    "niveau_surcharge", "niveausurcharge", "surcharge"));
+
+            // 15-18. Les nombres disponibles
+            hospital.setNbMedecinsDisponibles(getIntegerFromMap(recordMap, lineNumber,
+                    "nb_medecins_disponibles", "nbmedecins"));
+            hospital.setNbInfirmiersDisponibles(getIntegerFromMap(recordMap, lineNumber,
+                    "nb_infirmiers_disponibles", "nbinfirmiers"));
+            hospital.setNbAmbulancesDisponibles(getIntegerFromMap(recordMap, lineNumber,
+                    "nb_ambulances_disponibles", "nbambulances"));
+            hospital.setRespirateursDisponibles(getIntegerFromMap(recordMap, lineNumber,
+                    "respirateurs_disponibles", "respirateurs"));
+
+            // 19. bloc_operatoire_disponible
+            hospital.setBlocOperatoireDisponible(getBooleanFromMap(recordMap, lineNumber,
+                    "bloc_operatoire_disponible", "blocoperatoire", "bloc"));
+
+            return hospital;
+
+        } catch (Exception e) {
+            diagnostics.error(lineNumber, "mapping: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Méthodes helper pour nettoyer et chercher les valeurs
+    private String cleanHeader(String header) {
+        if (header == null) return null;
+        // Supprimer le BOM et autres caractères invisibles
+        String cleaned = header.replace("\uFEFF", "")  // BOM
+                .replace("\u200B", "")  // Zero-width space
+                .trim();
+        // Normaliser les espaces
+        cleaned = cleaned.replaceAll("\\s+", " ").trim();
+        return cleaned;
+    }
+
+    private String escapeSpecialChars(String text) {
+        if (text == null) return "null";
+        return text.chars()
+                .mapToObj(c -> c < 32 ? String.format("\\u%04x", c) : String.valueOf((char)c))
+                .collect(java.util.stream.Collectors.joining());
+    }
+
+    private String getValueFromMap(RowValues map, int lineNumber, String... possibleKeys) {
+        for (String key : possibleKeys) {
+            String value = map.get(key);
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+            // Essayer sans espaces à la fin
+            String trimmedKey = key.trim();
+            if (!trimmedKey.equals(key)) {
+                value = map.get(trimmedKey);
+                if (value != null && !value.trim().isEmpty()) {
+                    return value.trim();
+                }
+            }
+        }
+        map.diagnostics.missing(possibleKeys[0]);
+        return null;
+    }
+
+    private Integer getIntegerFromMap(RowValues map, int lineNumber, String... possibleKeys) {
+        String value = getValueFromMap(map, lineNumber, possibleKeys);
+        if (value == null) return null;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            map.diagnostics.error(lineNumber, "valeur non numérique '" + value + "' pour " + possibleKeys[0]);
+            return null;
+        }
+    }
+
+    private Double getDoubleFromMap(RowValues map, int lineNumber, String... possibleKeys) {
+        String value = getValueFromMap(map, lineNumber, possibleKeys);
+        if (value == null) return null;
+        try {
+            return Double.parseDouble(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            map.diagnostics.error(lineNumber, "valeur non numérique '" + value + "' pour " + possibleKeys[0]);
+            return null;
+        }
+    }
+
+    private Boolean getBooleanFromMap(RowValues map, int lineNumber, String... possibleKeys) {
+        String value = getValueFromMap(map, lineNumber, possibleKeys);
+        if (value == null) return null;
+
+        String lowerValue = value.toLowerCase().trim();
+        if (lowerValue.equals("true") || lowerValue.equals("vrai") ||
+                lowerValue.equals("1") || lowerValue.equals("oui") ||
+                lowerValue.equals("yes") || value.equals("VRAI")) {
+            return true;
+        }
+        if (lowerValue.equals("false") || lowerValue.equals("faux") ||
+                lowerValue.equals("0") || lowerValue.equals("non") ||
+                lowerValue.equals("no")) {
+            return false;
+        }
+        return null;
+    }
+
+    // Accès aux valeurs d'une ligne par nom de colonne nettoyé, sans recopier la ligne dans une Map
+    private static final class RowValues {
+        private final CSVRecord record;
+        private final Map<String, Integer> columns;
+        private final ImportDiagnostics diagnostics;
+
+        RowValues(CSVRecord record, Map<String, Integer> columns, ImportDiagnostics diagnostics) {
+            this.record = record;
+            this.columns = columns;
+            this.diagnostics = diagnostics;
+        }
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) return null;
+            return record.get(index);
+        }
+    }
+}
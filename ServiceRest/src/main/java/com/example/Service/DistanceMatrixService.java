@@ -0,0 +1,255 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listes de voisins précalculées entre hôpitaux (K plus proches dans un rayon maximal).
+ *
+ * Mémoire O(N·K) au lieu d'une matrice N². Chaque liste est obtenue par une grille de
+ * cellules parcourue en anneaux autour du point (comme {@link HospitalIndex}), si bien que
+ * la construction complète reste proche de O(N·K) au lieu de O(N²). Seuls les changements
+ * de position modifient les listes: l'hôpital déplacé/ajouté est recalculé et inséré dans
+ * les listes des autres; les listes qui le perdent sont recalculées. Les mises à jour de
+ * lits et de ressources ne touchent pas ces structures.
+ */
+@Service
+public class DistanceMatrixService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistanceMatrixService.class);
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Value("${transfer.neighbours:32}")
+    private int maxNeighbours;
+
+    @Value("${transfer.max-distance-km:300}")
+    private double maxDistanceKm;
+
+    @Value("${index.cell-size-degrees:0.25}")
+    private double cellSize;
+
+    private final Map<Long, double[]> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private int minCellX = Integer.MAX_VALUE, maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE, maxCellY = Integer.MIN_VALUE;
+    private final Map<Long, Neighbours> neighbours = new ConcurrentHashMap<>();
+
+    // Voisins triés par distance croissante (immuable, remplacé en bloc)
+    public record Neighbours(long[] ids, float[] distancesKm) {
+        static final Neighbours EMPTY = new Neighbours(new long[0], new float[0]);
+
+        public int size() { return ids.length; }
+
+        boolean contains(long id) {
+            for (long neighbour : ids) {
+                if (neighbour == id) return true;
+            }
+            return false;
+        }
+    }
+
+    @EventListener
+    public synchronized void onDataLoaded(HospitalDataLoadedEvent event) {
+        positions.clear();
+        neighbours.clear();
+        cells.clear();
+        minCellX = minCellY = Integer.MAX_VALUE;
+        maxCellX = maxCellY = Integer.MIN_VALUE;
+        for (Hospital h : hospitalRepository.findAll()) {
+            if (h.getId() != null && h.getLatitude() != null && h.getLongitude() != null) {
+                place(h.getId(), new double[]{h.getLatitude(), h.getLongitude()});
+            }
+        }
+        for (Long id : positions.keySet()) {
+            neighbours.put(id, compute(id));
+        }
+        logger.info("📐 Voisinages calculés: {} hôpitaux, K={}", positions.size(), maxNeighbours);
+    }
+
+    @EventListener
+    public synchronized void onHospitalChange(HospitalChangeEvent event) {
+        Long id = event.getHospitalId();
+        Hospital h = event.getHospital();
+        double[] previous = positions.get(id);
+
+        if (h == null || h.getLatitude() == null || h.getLongitude() == null) {
+            if (previous != null) {
+                unplace(id, previous);
+                neighbours.remove(id);
+                recomputeListsContaining(id);
+            }
+            return;
+        }
+
+        double[] current = {h.getLatitude(), h.getLongitude()};
+        if (previous != null && previous[0] == current[0] && previous[1] == current[1]) {
+            return; // position inchangée: rien à faire
+        }
+        if (previous != null) {
+            unplace(id, previous);
+        }
+        place(id, current);
+        if (previous != null) {
+            recomputeListsContaining(id);
+        }
+        neighbours.put(id, compute(id));
+        insertIntoOtherLists(id, current);
+    }
+
+    public Neighbours getNeighbours(Long id) {
+        return neighbours.getOrDefault(id, Neighbours.EMPTY);
+    }
+
+    public double[] getPosition(Long id) {
+        return positions.get(id);
+    }
+
+    // Liste complète d'un hôpital: anneaux de cellules jusqu'à ce qu'aucune cellule plus
+    // lointaine ne puisse contenir un voisin plus proche que le K-ième trouvé
+    private Neighbours compute(Long id) {
+        double[] origin = positions.get(id);
+        PriorityQueue<Map.Entry<Long, Double>> closest =
+                new PriorityQueue<>((a, b) -> Double.compare(b.getValue(), a.getValue()));
+        int cx = cellX(origin[1]);
+        int cy = cellY(origin[0]);
+        int maxRing = Math.max(Math.max(Math.abs(cx - minCellX), Math.abs(cx - maxCellX)),
+                Math.max(Math.abs(cy - minCellY), Math.abs(cy - maxCellY)));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Distance minimale possible d'un point situé dans cet anneau
+            double lowerBound = Math.max(0, ring - 1) * cellSize * kmPerDegreeLowerBound(origin[0], ring);
+            if (lowerBound > maxDistanceKm) break;
+            if (closest.size() >= maxNeighbours && lowerBound > closest.peek().getValue()) break;
+
+            if (ring == 0) {
+                scanCell(cx, cy, id, origin, closest);
+                continue;
+            }
+            for (int x = cx - ring; x <= cx + ring; x++) {
+                scanCell(x, cy - ring, id, origin, closest);
+                scanCell(x, cy + ring, id, origin, closest);
+            }
+            for (int y = cy - ring + 1; y <= cy + ring - 1; y++) {
+                scanCell(cx - ring, y, id, origin, closest);
+                scanCell(cx + ring, y, id, origin, closest);
+            }
+        }
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(closest);
+        sorted.sort(Map.Entry.comparingByValue());
+        long[] ids = new long[sorted.size()];
+        float[] distances = new float[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            ids[i] = sorted.get(i).getKey();
+            distances[i] = sorted.get(i).getValue().floatValue();
+        }
+        return new Neighbours(ids, distances);
+    }
+
+    private void scanCell(int x, int y, Long id, double[] origin, PriorityQueue<Map.Entry<Long, Double>> closest) {
+        Set<Long> ids = cells.get(key(x, y));
+        if (ids == null) return;
+        for (Long otherId : ids) {
+            if (otherId.equals(id)) continue;
+            double[] other = positions.get(otherId);
+            double d = GeoDistance.haversineKm(origin[0], origin[1], other[0], other[1]);
+            if (d > maxDistanceKm) continue;
+            closest.offer(Map.entry(otherId, d));
+            if (closest.size() > maxNeighbours) closest.poll();
+        }
+    }
+
+    private void place(Long id, double[] position) {
+        positions.put(id, position);
+        int x = cellX(position[1]);
+        int y = cellY(position[0]);
+        cells.computeIfAbsent(key(x, y), k -> new HashSet<>()).add(id);
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    private void unplace(Long id, double[] position) {
+        positions.remove(id);
+        long key = key(cellX(position[1]), cellY(position[0]));
+        Set<Long> ids = cells.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) cells.remove(key);
+        }
+    }
+
+    // Un degré de longitude raccourcit avec la latitude: borne prudente sur l'anneau considéré
+    private double kmPerDegreeLowerBound(double latitude, int ring) {
+        double worstLatitude = Math.min(89.0, Math.abs(latitude) + (ring + 1) * cellSize);
+        return Math.toRadians(GeoDistance.EARTH_RADIUS_KM) * Math.cos(Math.toRadians(worstLatitude));
+    }
+
+    private int cellX(double longitude) {
+        return (int) Math.floor(longitude / cellSize);
+    }
+
+    private int cellY(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    // Insère le nouvel hôpital dans les listes des autres lorsqu'il fait partie de leurs K plus proches
+    private void insertIntoOtherLists(Long id, double[] position) {
+        for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+            Long otherId = entry.getKey();
+            if (otherId.equals(id)) continue;
+            double[] other = positions.get(otherId);
+            if (other == null) continue;
+            float d = (float) GeoDistance.haversineKm(other[0], other[1], position[0], position[1]);
+            if (d > maxDistanceKm) continue;
+            Neighbours list = entry.getValue();
+            if (list.contains(id)) continue; // liste déjà recalculée avec la nouvelle position
+            if (list.size() >= maxNeighbours && d >= list.distancesKm()[list.size() - 1]) continue;
+            entry.setValue(insert(list, id, d));
+        }
+    }
+
+    private Neighbours insert(Neighbours list, long id, float distance) {
+        int n = list.size();
+        int position = 0;
+        while (position < n && list.distancesKm()[position] <= distance) position++;
+        int newSize = Math.min(maxNeighbours, n + 1);
+        long[] ids = new long[newSize];
+        float[] distances = new float[newSize];
+        for (int i = 0, j = 0; i < newSize; i++) {
+            if (i == position) {
+                ids[i] = id;
+                distances[i] = distance;
+            } else {
+                ids[i] = list.ids()[j];
+                distances[i] = list.distancesKm()[j];
+                j++;
+            }
+        }
+        return new Neighbours(ids, distances);
+    }
+
+    private void recomputeListsContaining(Long id) {
+        for (Map.Entry<Long, Neighbours> entry : neighbours.entrySet()) {
+            if (entry.getValue().contains(id)) {
+                entry.setValue(compute(entry.getKey()));
+            }
+        }
+    }
+}
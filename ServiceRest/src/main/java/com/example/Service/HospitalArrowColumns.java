@@ -0,0 +1,99 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Schéma Arrow de la table des hôpitaux, partagé par l'import et l'export.
+ *
+ * Les colonnes portent le nom des propriétés de l'entité; les spécialités sont une
+ * colonne texte séparée par ", " comme dans le CSV.
+ */
+final class HospitalArrowColumns {
+
+    enum Kind { TEXT, INT, DOUBLE, BOOL }
+
+    record Column(String name, Kind kind, Function<Hospital, Object> getter, BiConsumer<Hospital, Object> setter) {
+
+        Field field() {
+            return Field.nullable(name, arrowType(kind));
+        }
+    }
+
+    static final String ID = "id";
+
+    static final List<Column> COLUMNS = List.of(
+            text("nomHopital", Hospital::getNomHopital, Hospital::setNomHopital),
+            text("type", Hospital::getType, Hospital::setType),
+            text("ville", Hospital::getVille, Hospital::setVille),
+            text("telephone", Hospital::getTelephone, Hospital::setTelephone),
+            text("adresse", Hospital::getAdresse, Hospital::setAdresse),
+            integer("litsTotal", Hospital::getLitsTotal, Hospital::setLitsTotal),
+            integer("litsOccupees", Hospital::getLitsOccupees, Hospital::setLitsOccupees),
+            integer("litsDisponibles", Hospital::getLitsDisponibles, Hospital::setLitsDisponibles),
+            text("specialitesPrincipales",
+                    h -> h.getSpecialitesPrincipales() == null ? null : String.join(", ", h.getSpecialitesPrincipales()),
+                    (h, v) -> { if (!v.isBlank()) h.setSpecialitesPrincipales(new ArrayList<>(Arrays.asList(v.split(",\\s*")))); }),
+            decimal("latitude", Hospital::getLatitude, Hospital::setLatitude),
+            decimal("longitude", Hospital::getLongitude, Hospital::setLongitude),
+            bool("urgenceOuvert", Hospital::getUrgenceOuvert, Hospital::setUrgenceOuvert),
+            integer("tempsAttenteUrgence", Hospital::getTempsAttenteUrgence, Hospital::setTempsAttenteUrgence),
+            text("niveauSurcharge", Hospital::getNiveauSurcharge, Hospital::setNiveauSurcharge),
+            integer("nbMedecinsDisponibles", Hospital::getNbMedecinsDisponibles, Hospital::setNbMedecinsDisponibles),
+            integer("nbInfirmiersDisponibles", Hospital::getNbInfirmiersDisponibles, Hospital::setNbInfirmiersDisponibles),
+            integer("nbAmbulancesDisponibles", Hospital::getNbAmbulancesDisponibles, Hospital::setNbAmbulancesDisponibles),
+            integer("respirateursDisponibles", Hospital::getRespirateursDisponibles, Hospital::setRespirateursDisponibles),
+            bool("blocOperatoireDisponible", Hospital::getBlocOperatoireDisponible, Hospital::setBlocOperatoireDisponible)
+    );
+
+    private HospitalArrowColumns() {}
+
+    // Schéma d'export: identifiant en tête puis les colonnes importables
+    static Schema exportSchema() {
+        List<Field> fields = new ArrayList<>(COLUMNS.size() + 1);
+        fields.add(Field.notNullable(ID, new ArrowType.Int(64, true)));
+        for (Column column : COLUMNS) {
+            fields.add(column.field());
+        }
+        return new Schema(fields);
+    }
+
+    static ArrowType arrowType(Kind kind) {
+        switch (kind) {
+            case TEXT: return ArrowType.Utf8.INSTANCE;
+            case INT: return new ArrowType.Int(32, true);
+            case DOUBLE: return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            default: return ArrowType.Bool.INSTANCE;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Column column(String name, Kind kind, Function<Hospital, T> getter, BiConsumer<Hospital, T> setter) {
+        return new Column(name, kind, (Function<Hospital, Object>) getter, (BiConsumer<Hospital, Object>) setter);
+    }
+
+    private static Column text(String name, Function<Hospital, String> getter, BiConsumer<Hospital, String> setter) {
+        return column(name, Kind.TEXT, getter, setter);
+    }
+
+    private static Column integer(String name, Function<Hospital, Integer> getter, BiConsumer<Hospital, Integer> setter) {
+        return column(name, Kind.INT, getter, setter);
+    }
+
+    private static Column decimal(String name, Function<Hospital, Double> getter, BiConsumer<Hospital, Double> setter) {
+        return column(name, Kind.DOUBLE, getter, setter);
+    }
+
+    private static Column bool(String name, Function<Hospital, Boolean> getter, BiConsumer<Hospital, Boolean> setter) {
+        return column(name, Kind.BOOL, getter, setter);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Invalide le near-cache "hospitals" sur toute mutation, locale ou reçue d'un pair du cluster, et le vide au rechargement
+@Component
+public class HospitalCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Après le commit de la mutation: une lecture concurrente ne peut pas remettre l'ancien état en cache
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHospitalChange(HospitalChangeEvent event) {
+        Cache cache = cacheManager.getCache(HospitalService.HOSPITALS_CACHE);
+        if (cache != null && event.getHospitalId() != null) {
+            cache.evict(event.getHospitalId());
+        }
+    }
+
+    // Jeu de données rechargé (import, snapshot): les entrées peuvent porter d'anciens identifiants
+    @EventListener
+    public void onDataLoaded(HospitalDataLoadedEvent event) {
+        Cache cache = cacheManager.getCache(HospitalService.HOSPITALS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
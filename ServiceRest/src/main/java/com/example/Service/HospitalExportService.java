@@ -0,0 +1,159 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import com.example.TimeSeries.CapacityMetric;
+import com.example.TimeSeries.HistoryPoint;
+import com.example.TimeSeries.Resolution;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampSecTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export colonnaire (flux Arrow IPC) de la table des hôpitaux et de l'historique des capacités.
+ *
+ * Les données sont écrites lot par lot: la mémoire utilisée reste bornée par la taille
+ * d'un lot, quelle que soit la taille de la table.
+ */
+@Service
+public class HospitalExportService {
+
+    public static final String ARROW_STREAM_MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+
+    private static final Schema HISTORY_SCHEMA = new Schema(List.of(
+            Field.notNullable("hospitalId", new ArrowType.Int(64, true)),
+            Field.notNullable("metric", ArrowType.Utf8.INSTANCE),
+            Field.notNullable("timestamp", new ArrowType.Timestamp(TimeUnit.SECOND, "UTC")),
+            Field.notNullable("min", new ArrowType.Int(64, true)),
+            Field.notNullable("max", new ArrowType.Int(64, true)),
+            Field.notNullable("avg", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)),
+            Field.notNullable("count", new ArrowType.Int(64, true)),
+            Field.notNullable("last", new ArrowType.Int(64, true))
+    ));
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Autowired
+    private CapacityHistoryService capacityHistoryService;
+
+    // Proxy paresseux: l'allocateur n'est créé qu'au premier export
+    @Lazy
+    @Autowired
+    private BufferAllocator arrowAllocator;
+
+    @Value("${export.batch-size:1000}")
+    private int batchSize;
+
+    // Table des hôpitaux par pages de clés (id > dernier id exporté, une page = un lot Arrow):
+    // une insertion ou suppression pendant l'export ne décale pas les pages suivantes
+    public void exportHospitals(OutputStream out) throws IOException {
+        try (BufferAllocator allocator = arrowAllocator.newChildAllocator("export-hospitals", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(HospitalArrowColumns.exportSchema(), allocator);
+             ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+
+            writer.start();
+            long lastId = Long.MIN_VALUE;
+            while (true) {
+                List<Hospital> page = hospitalRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+                writeHospitalBatch(root, page);
+                writer.writeBatch();
+                if (page.size() < batchSize) break;
+                lastId = page.get(page.size() - 1).getId();
+            }
+            writer.end();
+        }
+    }
+
+    // Historique de toutes les grandeurs de tous les hôpitaux sur [from, to]
+    public void exportHistory(Resolution resolution, Instant from, Instant to, OutputStream out) throws IOException {
+        try (BufferAllocator allocator = arrowAllocator.newChildAllocator("export-history", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(HISTORY_SCHEMA, allocator);
+             ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+
+            BigIntVector hospitalId = (BigIntVector) root.getVector("hospitalId");
+            VarCharVector metricName = (VarCharVector) root.getVector("metric");
+            TimeStampSecTZVector timestamp = (TimeStampSecTZVector) root.getVector("timestamp");
+            BigIntVector min = (BigIntVector) root.getVector("min");
+            BigIntVector max = (BigIntVector) root.getVector("max");
+            Float8Vector avg = (Float8Vector) root.getVector("avg");
+            BigIntVector count = (BigIntVector) root.getVector("count");
+            BigIntVector last = (BigIntVector) root.getVector("last");
+
+            writer.start();
+            root.allocateNew();
+            int row = 0;
+            for (Long id : new ArrayList<>(capacityHistoryService.hospitalIds())) {
+                for (CapacityMetric metric : CapacityMetric.values()) {
+                    byte[] name = metric.getField().getBytes(StandardCharsets.UTF_8);
+                    for (HistoryPoint point : capacityHistoryService.getHistory(id, metric, resolution, from, to)) {
+                        hospitalId.setSafe(row, id);
+                        metricName.setSafe(row, name);
+                        timestamp.setSafe(row, point.timestamp().getEpochSecond());
+                        min.setSafe(row, point.min());
+                        max.setSafe(row, point.max());
+                        avg.setSafe(row, point.avg());
+                        count.setSafe(row, point.count());
+                        last.setSafe(row, point.last());
+                        if (++row == batchSize) {
+                            root.setRowCount(row);
+                            writer.writeBatch();
+                            root.allocateNew();
+                            row = 0;
+                        }
+                    }
+                }
+            }
+            root.setRowCount(row);
+            writer.writeBatch();
+            writer.end();
+        }
+    }
+
+    private void writeHospitalBatch(VectorSchemaRoot root, List<Hospital> hospitals) {
+        root.allocateNew();
+        BigIntVector ids = (BigIntVector) root.getVector(HospitalArrowColumns.ID);
+        for (int i = 0; i < hospitals.size(); i++) {
+            ids.setSafe(i, hospitals.get(i).getId());
+        }
+        // Colonne par colonne; une valeur non écrite reste nulle (validité à zéro après allocateNew)
+        for (HospitalArrowColumns.Column column : HospitalArrowColumns.COLUMNS) {
+            FieldVector vector = root.getVector(column.name());
+            for (int i = 0; i < hospitals.size(); i++) {
+                Object value = column.getter().apply(hospitals.get(i));
+                if (value == null) continue;
+                switch (column.kind()) {
+                    case TEXT -> ((VarCharVector) vector).setSafe(i, ((String) value).getBytes(StandardCharsets.UTF_8));
+                    case INT -> ((IntVector) vector).setSafe(i, (Integer) value);
+                    case DOUBLE -> ((Float8Vector) vector).setSafe(i, (Double) value);
+                    case BOOL -> ((BitVector) vector).setSafe(i, (Boolean) value ? 1 : 0);
+                }
+            }
+        }
+        root.setRowCount(hospitals.size());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+
+import java.io.IOException;
+
+/**
+ * Lecteur d'un format de fichier d'hôpitaux (CSV, Arrow, ...).
+ *
+ * Le chargeur choisit l'importeur d'après le chemin configuré, puis reçoit chaque hôpital
+ * décodé via le RowSink (validation, sauvegarde par lots, snapshot restent côté chargeur).
+ */
+public interface HospitalImporter {
+
+    // Nom court du format, pour les logs ("CSV", "Arrow")
+    String getFormat();
+
+    boolean supports(String location);
+
+    ImportResult read(byte[] content, ImportDiagnostics diagnostics, ImportProgress progress, RowSink sink)
+            throws IOException;
+
+    @FunctionalInterface
+    interface RowSink {
+        void accept(int lineNumber, Hospital hospital);
+    }
+
+    // lines = lignes lues, errors = lignes que l'importeur n'a pas pu décoder
+    record ImportResult(int lines, int errors) {}
+}
@@ -0,0 +1,172 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Model.HospitalPoint;
+import com.example.Repository.HospitalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Index spatial en mémoire des hôpitaux géolocalisés (grille régulière en degrés).
+ *
+ * Reconstruit après l'import initial puis tenu à jour par les HospitalChangeEvent.
+ * Les lectures sont sans verrou; une recherche du plus proche parcourt les anneaux de
+ * cellules autour du point jusqu'à ce qu'aucune cellule plus lointaine ne puisse battre
+ * le meilleur candidat.
+ */
+@Component
+public class HospitalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HospitalIndex.class);
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Value("${index.cell-size-degrees:0.25}")
+    private double cellSize;
+
+    private final Map<Long, HospitalPoint> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    // Emprise de la grille (en indices de cellule), pour borner la recherche par anneaux
+    private volatile int minCellX = Integer.MAX_VALUE, maxCellX = Integer.MIN_VALUE;
+    private volatile int minCellY = Integer.MAX_VALUE, maxCellY = Integer.MIN_VALUE;
+
+    public record Nearest(HospitalPoint hospital, double distanceKm) {}
+
+    @EventListener
+    public synchronized void onDataLoaded(HospitalDataLoadedEvent event) {
+        byId.clear();
+        cells.clear();
+        minCellX = minCellY = Integer.MAX_VALUE;
+        maxCellX = maxCellY = Integer.MIN_VALUE;
+        for (Hospital hospital : hospitalRepository.findAll()) {
+            put(hospital);
+        }
+        logger.info("🗺️ Index spatial construit: {} hôpitaux, {} cellules", byId.size(), cells.size());
+    }
+
+    @EventListener
+    public synchronized void onHospitalChange(HospitalChangeEvent event) {
+        remove(event.getHospitalId());
+        if (event.getHospital() != null) {
+            put(event.getHospital());
+        }
+    }
+
+    public HospitalPoint get(Long id) {
+        return byId.get(id);
+    }
+
+    public Collection<HospitalPoint> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Hôpital le plus proche satisfaisant le filtre, dans la limite de maxDistanceKm (null si aucun)
+    public Nearest nearest(double latitude, double longitude, Predicate<HospitalPoint> filter, double maxDistanceKm) {
+        if (byId.isEmpty()) return null;
+        int cx = cellX(longitude);
+        int cy = cellY(latitude);
+        int maxRing = Math.max(Math.max(Math.abs(cx - minCellX), Math.abs(cx - maxCellX)),
+                Math.max(Math.abs(cy - minCellY), Math.abs(cy - maxCellY)));
+
+        Candidate best = new Candidate();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Distance minimale possible d'un point situé dans cet anneau
+            double lowerBound = Math.max(0, ring - 1) * cellSize * kmPerDegreeLowerBound(latitude, ring);
+            if (lowerBound > maxDistanceKm || lowerBound > best.distance) break;
+
+            if (ring == 0) {
+                scanCell(cx, cy, latitude, longitude, filter, best);
+                continue;
+            }
+            // Bord de l'anneau uniquement
+            for (int x = cx - ring; x <= cx + ring; x++) {
+                scanCell(x, cy - ring, latitude, longitude, filter, best);
+                scanCell(x, cy + ring, latitude, longitude, filter, best);
+            }
+            for (int y = cy - ring + 1; y <= cy + ring - 1; y++) {
+                scanCell(cx - ring, y, latitude, longitude, filter, best);
+                scanCell(cx + ring, y, latitude, longitude, filter, best);
+            }
+        }
+        return best.point != null && best.distance <= maxDistanceKm ? new Nearest(best.point, best.distance) : null;
+    }
+
+    private static final class Candidate {
+        HospitalPoint point;
+        double distance = Double.MAX_VALUE;
+    }
+
+    private void scanCell(int x, int y, double latitude, double longitude,
+                          Predicate<HospitalPoint> filter, Candidate best) {
+        Set<Long> ids = cells.get(key(x, y));
+        if (ids == null) return;
+        for (Long id : ids) {
+            HospitalPoint point = byId.get(id);
+            if (point == null || !filter.test(point)) continue;
+            double distance = GeoDistance.haversineKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance < best.distance) {
+                best.distance = distance;
+                best.point = point;
+            }
+        }
+    }
+
+    private void put(Hospital hospital) {
+        if (!HospitalPoint.isLocated(hospital)) return;
+        HospitalPoint point = HospitalPoint.from(hospital);
+        byId.put(point.id(), point);
+        int x = cellX(point.longitude());
+        int y = cellY(point.latitude());
+        cells.computeIfAbsent(key(x, y), k -> ConcurrentHashMap.newKeySet()).add(point.id());
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    private void remove(Long id) {
+        if (id == null) return;
+        HospitalPoint previous = byId.remove(id);
+        if (previous == null) return;
+        long key = key(cellX(previous.longitude()), cellY(previous.latitude()));
+        Set<Long> ids = cells.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) cells.remove(key);
+        }
+    }
+
+    // Un degré de longitude raccourcit avec la latitude: borne prudente sur l'anneau considéré
+    private double kmPerDegreeLowerBound(double latitude, int ring) {
+        double worstLatitude = Math.min(89.0, Math.abs(latitude) + (ring + 1) * cellSize);
+        return GeoDistance.KM_PER_DEGREE * Math.cos(Math.toRadians(worstLatitude));
+    }
+
+    private int cellX(double longitude) {
+        return (int) Math.floor(longitude / cellSize);
+    }
+
+    private int cellY(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -1,39 +1,80 @@
 package com.example.Service;
 
+import com.example.Event.HospitalChangeEvent;
 import com.example.Model.Hospital;
+import com.example.Model.HospitalPoint;
 import com.example.Repository.HospitalRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+// Mutations transactionnelles: l'entrée du journal (ChangeLogService, premier écouteur de
+// HospitalChangeEvent) est écrite dans la même transaction, un échec d'ajout annule la mutation
 @Service
+@Timed(value = "hospital.service", histogram = true)
 public class HospitalService {
 
+    static final String HOSPITALS_CACHE = "hospitals";
+
     @Autowired
     private HospitalRepository hospitalRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private HospitalIndex hospitalIndex;
+
+    @Autowired
+    private BedHoldRegistry bedHolds;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     // CREATE
+    @Transactional
     public Hospital createHospital(Hospital hospital) {
-        return hospitalRepository.save(hospital);
+        Hospital saved = withHolds(hospitalRepository.save(hospital));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.CREATED, saved));
+        return saved;
     }
 
-    // READ BY ID
+    // READ BY ID (near-cache local, invalidé par HospitalCacheInvalidator): le cache garde sa propre
+    // copie, chaque appelant reçoit une instance qu'il peut modifier sans toucher au cache
     public Hospital getHospitalById(Long id) {
+        Cache cache = cacheManager.getCache(HOSPITALS_CACHE);
+        Hospital cached = cache != null ? cache.get(id, Hospital.class) : null;
+        if (cached == null) {
+            cached = new Hospital(findHospital(id));
+            if (cache != null) cache.put(id, cached);
+        }
+        return new Hospital(cached);
+    }
+
+    // Lecture en base pour les mises à jour (et la disponibilité fraîche des réservations): jamais l'instance du cache
+    Hospital findHospital(Long id) {
         return hospitalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Hôpital non trouvé avec l'id: " + id));
     }
 
     // READ ALL
     public List<Hospital> getAllHospitals() {
-        return hospitalRepository.findAll();
+        return withHolds(hospitalRepository.findAll());
     }
 
     // UPDATE COMPLET
+    @Transactional
     public Hospital updateHospital(Long id, Hospital hospitalDetails) {
-        Hospital hospital = getHospitalById(id);
+        Hospital hospital = findHospital(id);
 
         // Mettre à jour tous les champs
         if (hospitalDetails.getNomHopital() != null) {
@@ -95,56 +136,76 @@ public class HospitalService {
             hospital.setBlocOperatoireDisponible(hospitalDetails.getBlocOperatoireDisponible());
         }
 
-        return hospitalRepository.save(hospital);
+        Hospital saved = withHolds(hospitalRepository.save(hospital));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.UPDATED, saved));
+        return saved;
     }
 
     // DELETE
+    @Transactional
     public void deleteHospital(Long id) {
-        Hospital hospital = getHospitalById(id);
+        Hospital hospital = findHospital(id);
         hospitalRepository.delete(hospital);
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.DELETED, hospital));
     }
 
     // MÉTHODES MÉTIERS SPÉCIFIQUES
     public List<Hospital> getHospitalsByVille(String ville) {
-        return hospitalRepository.findByVille(ville);
+        return withHolds(hospitalRepository.findByVille(ville));
     }
 
     public List<Hospital> getHospitalsWithAvailableBeds() {
-        return hospitalRepository.findWithAvailableBeds();
+        return withHolds(hospitalRepository.findWithAvailableBeds()).stream()
+                .filter(h -> h.getLitsDisponiblesNets() > 0)
+                .collect(Collectors.toList());
     }
 
     public List<Hospital> getEmergencyHospitals() {
-        return hospitalRepository.findByUrgenceOuvertTrue();
+        return withHolds(hospitalRepository.findByUrgenceOuvertTrue());
     }
 
+    @Transactional
     public Hospital updateBedStatus(Long id, Integer litsOccupees) {
-        Hospital hospital = getHospitalById(id);
+        Hospital hospital = findHospital(id);
         hospital.setLitsOccupees(litsOccupees);
         // Recalculer les lits disponibles
         if (hospital.getLitsTotal() != null) {
             hospital.setLitsDisponibles(hospital.getLitsTotal() - litsOccupees);
         }
-        return hospitalRepository.save(hospital);
+        Hospital saved = withHolds(hospitalRepository.save(hospital));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.BEDS_UPDATED, saved));
+        return saved;
     }
 
     // MÉTHODES MANQUANTES - COMPLÉTÉES
 
     public List<Hospital> getHospitalsBySpecialite(String specialite) {
-        return hospitalRepository.findBySpecialiteContaining(specialite);
+        return withHolds(hospitalRepository.findBySpecialiteContaining(specialite));
     }
 
     public List<Hospital> findNearbyHospitals(Double latitude, Double longitude, Double radiusKm) {
         // Convertir radiusKm en degrés (approximation: 1° ≈ 111km)
         Double radiusDegrees = radiusKm / 111.0;
 
-        return hospitalRepository.findByProximity(latitude, longitude)
+        return withHolds(hospitalRepository.findByProximity(latitude, longitude))
                 .stream()
                 .filter(h -> calculateDistance(latitude, longitude, h.getLatitude(), h.getLongitude()) <= radiusKm)
                 .collect(Collectors.toList());
     }
 
+    // Plus proche hôpital satisfaisant les contraintes, via l'index spatial en mémoire (pas de requête SQL)
+    public HospitalIndex.Nearest findNearestHospital(Double latitude, Double longitude, String specialite,
+                                                     Boolean urgence, Integer minLits, Double maxDistanceKm) {
+        if (latitude == null || longitude == null) return null;
+        Predicate<HospitalPoint> filter = h -> h.hasSpecialite(specialite)
+                && (urgence == null || h.urgenceOuvert() == urgence)
+                && (minLits == null || h.litsDisponibles() >= minLits);
+        return hospitalIndex.nearest(latitude, longitude, filter,
+                maxDistanceKm != null ? maxDistanceKm : Double.MAX_VALUE);
+    }
+
     public List<Hospital> getHospitalsBySurchargeLevel(String niveau) {
-        return hospitalRepository.findByNiveauSurcharge(niveau);
+        return withHolds(hospitalRepository.findByNiveauSurcharge(niveau));
     }
 
 
@@ -154,15 +215,7 @@ public class HospitalService {
         if (lat1 == null || lon1 == null || lat2 == null || lon2 == null) {
             return Double.MAX_VALUE;
         }
-
-        final int R = 6371; // Rayon de la Terre en km
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+        return GeoDistance.haversineKm(lat1, lon1, lat2, lon2);
     }
 
     private int surchargePriority(String niveau) {
@@ -179,7 +232,9 @@ public class HospitalService {
     // NOUVELLES MÉTHODES UTILES
 
     public List<Hospital> getHospitalsWithMinBeds(Integer minBeds) {
-        return hospitalRepository.findByLitsDisponiblesGreaterThan(minBeds);
+        return withHolds(hospitalRepository.findByLitsDisponiblesGreaterThan(minBeds)).stream()
+                .filter(h -> h.getLitsDisponiblesNets() > minBeds)
+                .collect(Collectors.toList());
     }
 
     public List<Hospital> searchHospitals(String ville, String specialite, Boolean urgence, Integer minLits) {
@@ -207,22 +262,59 @@ public class HospitalService {
 
         if (minLits != null && minLits > 0) {
             results = results.stream()
-                    .filter(h -> h.getLitsDisponibles() != null && h.getLitsDisponibles() >= minLits)
+                    .filter(h -> h.getLitsDisponibles() != null && h.getLitsDisponiblesNets() >= minLits)
                     .collect(Collectors.toList());
         }
 
         return results;
     }
 
+    @Transactional
     public Hospital updateHospitalResources(Long id, Integer medecins, Integer infirmiers,
                                             Integer ambulances, Integer respirateurs) {
-        Hospital hospital = getHospitalById(id);
+        Hospital hospital = findHospital(id);
 
         if (medecins != null) hospital.setNbMedecinsDisponibles(medecins);
         if (infirmiers != null) hospital.setNbInfirmiersDisponibles(infirmiers);
         if (ambulances != null) hospital.setNbAmbulancesDisponibles(ambulances);
         if (respirateurs != null) hospital.setRespirateursDisponibles(respirateurs);
 
-        return hospitalRepository.save(hospital);
+        Hospital saved = withHolds(hospitalRepository.save(hospital));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.RESOURCES_UPDATED, saved));
+        return saved;
+    }
+
+    // Confirmation d'une réservation: occupation par mise à jour conditionnelle en base, publiée (et
+    // journalisée) dans la même transaction. Les lits confirmés sont déjà retirés des retenues publiées,
+    // l'appelant libère ensuite la retenue. null si le total de lits serait dépassé
+    @Transactional
+    Hospital occupyHeldBeds(Long id, int lits) {
+        if (hospitalRepository.occupyBeds(id, lits) == 0) return null;
+        Hospital hospital = findHospital(id);
+        hospital.setLitsReserves(Math.max(0, bedHolds.held(id) - lits));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.BEDS_UPDATED, hospital));
+        return hospital;
+    }
+
+    // Lits retenus seuls modifiés (réservation, annulation, expiration, révocation): index, agrégats et
+    // alertes suivent les lits nets, mais rien n'est journalisé ni diffusé puisque la base n'a pas changé
+    Hospital publishHoldsUpdated(Long id) {
+        Hospital hospital = withHolds(findHospital(id));
+        eventPublisher.publishEvent(HospitalChangeEvent.local(HospitalChangeEvent.Type.HOLDS_UPDATED, hospital));
+        return hospital;
+    }
+
+    // Renseigne les lits retenus par les réservations en cours (champ non persisté). Les entités publiées
+    // dans les HospitalChangeEvent en sont toujours pourvues: les consommateurs lisent les lits nets
+    public Hospital withHolds(Hospital hospital) {
+        if (hospital != null && hospital.getId() != null) {
+            hospital.setLitsReserves(bedHolds.held(hospital.getId()));
+        }
+        return hospital;
+    }
+
+    public List<Hospital> withHolds(List<Hospital> hospitals) {
+        hospitals.forEach(this::withHolds);
+        return hospitals;
     }
-}
\ No newline at end of file
+}
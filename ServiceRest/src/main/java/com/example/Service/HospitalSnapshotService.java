@@ -0,0 +1,239 @@
+package com.example.Service;
+
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot binaire versionné du jeu d'hôpitaux (avec spécialités).
+ *
+ * Format: en-tête (magic, version, checksum du CSV source, date, nombre d'hôpitaux),
+ * enregistrements (masque de présence + champs, identifiant compris), puis CRC32 de tout ce qui précède.
+ * Au démarrage le fichier est mappé en mémoire; s'il est absent, corrompu ou issu
+ * d'un autre CSV, on retombe sur l'import CSV. Les identifiants sont restaurés tels quels:
+ * l'historique des capacités, le journal des changements et les clients s'y réfèrent.
+ * Désactivé par défaut (snapshot.enabled).
+ */
+@Service
+public class HospitalSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HospitalSnapshotService.class);
+
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    private static final short VERSION = 2;
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Value("${snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${snapshot.file.path:./data/hospitals.snapshot}")
+    private String snapshotFilePath;
+
+    // Réécrire le snapshot à l'arrêt pour conserver l'état lits/ressources en mode mémoire
+    @Value("${snapshot.write-on-shutdown:false}")
+    private boolean writeOnShutdown;
+
+    private volatile String currentChecksum;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Lecture: retourne null si le snapshot est absent, corrompu ou périmé
+    public List<Hospital> read(String sourceChecksum) {
+        if (!enabled) return null;
+        Path path = Paths.get(snapshotFilePath);
+        if (!Files.isRegularFile(path)) {
+            logger.info("Aucun snapshot trouvé ({})", path);
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 || size > Integer.MAX_VALUE) {
+                logger.warn("⚠️ Snapshot de taille invalide ({} octets), ignoré", size);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            // Vérifier le CRC32 avant tout décodage
+            int payloadLength = (int) size - 8;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, payloadLength));
+            if (crc.getValue() != buffer.getLong(payloadLength)) {
+                logger.warn("⚠️ Snapshot corrompu (CRC32 invalide), retour au CSV");
+                return null;
+            }
+
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                logger.warn("⚠️ Format de snapshot inconnu, retour au CSV");
+                return null;
+            }
+            String checksum = readString(buffer);
+            if (!checksum.equals(sourceChecksum)) {
+                logger.info("Snapshot périmé (CSV modifié), retour au CSV");
+                return null;
+            }
+            long createdAt = buffer.getLong();
+            int count = buffer.getInt();
+
+            List<Hospital> hospitals = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                hospitals.add(readHospital(buffer));
+            }
+            currentChecksum = sourceChecksum;
+            logger.info("📦 Snapshot chargé: {} hôpitaux (créé le {})", count, new java.util.Date(createdAt));
+            return hospitals;
+
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Lecture du snapshot impossible ({}), retour au CSV", e.getMessage());
+            return null;
+        }
+    }
+
+    // Écriture atomique (fichier temporaire puis renommage)
+    public void write(String sourceChecksum, List<Hospital> hospitals) {
+        if (!enabled) return;
+        Path path = Paths.get(snapshotFilePath).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * Math.max(1, hospitals.size()));
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeString(out, sourceChecksum);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(hospitals.size());
+            for (Hospital hospital : hospitals) {
+                writeHospital(out, hospital);
+            }
+            out.flush();
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+            out.flush();
+
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            currentChecksum = sourceChecksum;
+            logger.info("📦 Snapshot écrit: {} hôpitaux, {} octets", hospitals.size(), bytes.size());
+        } catch (IOException e) {
+            logger.warn("⚠️ Écriture du snapshot impossible: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (!enabled || !writeOnShutdown || currentChecksum == null) return;
+        try {
+            write(currentChecksum, hospitalRepository.findAllWithSpecialites());
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Snapshot d'arrêt non écrit: {}", e.getMessage());
+        }
+    }
+
+    // Encodage d'un hôpital: masque de présence (un bit par champ non null) puis les valeurs
+    private void writeHospital(DataOutputStream out, Hospital h) throws IOException {
+        Object[] fields = {
+                h.getNomHopital(), h.getType(), h.getVille(), h.getTelephone(), h.getAdresse(),
+                h.getLitsTotal(), h.getLitsOccupees(), h.getLitsDisponibles(), h.getSpecialitesPrincipales(),
+                h.getLatitude(), h.getLongitude(), h.getUrgenceOuvert(), h.getTempsAttenteUrgence(),
+                h.getNiveauSurcharge(), h.getNbMedecinsDisponibles(), h.getNbInfirmiersDisponibles(),
+                h.getNbAmbulancesDisponibles(), h.getRespirateursDisponibles(), h.getBlocOperatoireDisponible(),
+                h.getId()
+        };
+        int mask = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) mask |= 1 << i;
+        }
+        out.writeInt(mask);
+        for (Object field : fields) {
+            if (field == null) continue;
+            if (field instanceof String s) {
+                writeString(out, s);
+            } else if (field instanceof Integer n) {
+                out.writeInt(n);
+            } else if (field instanceof Long n) {
+                out.writeLong(n);
+            } else if (field instanceof Double d) {
+                out.writeDouble(d);
+            } else if (field instanceof Boolean b) {
+                out.writeBoolean(b);
+            } else if (field instanceof List<?> list) {
+                out.writeInt(list.size());
+                for (Object item : list) {
+                    writeString(out, String.valueOf(item));
+                }
+            }
+        }
+    }
+
+    private Hospital readHospital(ByteBuffer in) {
+        int mask = in.getInt();
+        Hospital h = new Hospital();
+        if (has(mask, 0)) h.setNomHopital(readString(in));
+        if (has(mask, 1)) h.setType(readString(in));
+        if (has(mask, 2)) h.setVille(readString(in));
+        if (has(mask, 3)) h.setTelephone(readString(in));
+        if (has(mask, 4)) h.setAdresse(readString(in));
+        if (has(mask, 5)) h.setLitsTotal(in.getInt());
+        if (has(mask, 6)) h.setLitsOccupees(in.getInt());
+        if (has(mask, 7)) h.setLitsDisponibles(in.getInt());
+        if (has(mask, 8)) {
+            int size = in.getInt();
+            List<String> specialites = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                specialites.add(readString(in));
+            }
+            h.setSpecialitesPrincipales(specialites);
+        }
+        if (has(mask, 9)) h.setLatitude(in.getDouble());
+        if (has(mask, 10)) h.setLongitude(in.getDouble());
+        if (has(mask, 11)) h.setUrgenceOuvert(in.get() != 0);
+        if (has(mask, 12)) h.setTempsAttenteUrgence(in.getInt());
+        if (has(mask, 13)) h.setNiveauSurcharge(readString(in));
+        if (has(mask, 14)) h.setNbMedecinsDisponibles(in.getInt());
+        if (has(mask, 15)) h.setNbInfirmiersDisponibles(in.getInt());
+        if (has(mask, 16)) h.setNbAmbulancesDisponibles(in.getInt());
+        if (has(mask, 17)) h.setRespirateursDisponibles(in.getInt());
+        if (has(mask, 18)) h.setBlocOperatoireDisponible(in.get() != 0);
+        if (has(mask, 19)) h.setId(in.getLong());
+        return h;
+    }
+
+    private static boolean has(int mask, int bit) {
+        return (mask & (1 << bit)) != 0;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Diagnostics agrégés de l'import: un résumé + les N premières erreurs au lieu de logs par ligne
+public final class ImportDiagnostics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportDiagnostics.class);
+
+    private final int maxLoggedErrors;
+    private final Map<String, Integer> missingValues = new TreeMap<>();
+    private int loggedErrors = 0;
+    private int totalErrors = 0;
+
+    public ImportDiagnostics(int maxLoggedErrors) {
+        this.maxLoggedErrors = maxLoggedErrors;
+    }
+
+    public void error(int lineNumber, String message) {
+        totalErrors++;
+        if (loggedErrors < maxLoggedErrors) {
+            loggedErrors++;
+            logger.warn("⚠️ Ligne {}: {}", lineNumber, message);
+        }
+    }
+
+    public void missing(String column) {
+        missing(column, 1);
+    }
+
+    public void missing(String column, int count) {
+        missingValues.merge(column, count, Integer::sum);
+    }
+
+    public void logSummary(String format, int lines, int successCount, int errorCount) {
+        logger.info("📋 Import {}: {} lignes lues, {} valides, {} rejetées", format, lines, successCount, errorCount);
+        if (totalErrors > loggedErrors) {
+            logger.warn("⚠️ {} anomalies supplémentaires non affichées", totalErrors - loggedErrors);
+        }
+        if (!missingValues.isEmpty()) {
+            logger.info("📋 Valeurs manquantes par colonne: {}", missingValues);
+        }
+    }
+}
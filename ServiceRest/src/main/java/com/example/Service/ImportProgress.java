@@ -0,0 +1,69 @@
+package com.example.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Avancement de l'import de démarrage (lu par le health indicator et le filtre de lecture)
+@Component
+public class ImportProgress {
+
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private volatile State state = State.PENDING;
+    private volatile String source;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private final AtomicInteger totalRows = new AtomicInteger();
+    private final AtomicInteger processedRows = new AtomicInteger();
+    private final AtomicInteger savedRows = new AtomicInteger();
+
+    public void start(String source) {
+        this.source = source;
+        this.startedAt = Instant.now();
+        this.finishedAt = null;
+        this.error = null;
+        totalRows.set(0);
+        processedRows.set(0);
+        savedRows.set(0);
+        this.state = State.RUNNING;
+    }
+
+    public void setTotalRows(int total) { totalRows.set(total); }
+    public void rowProcessed() { processedRows.incrementAndGet(); }
+    public void rowsSaved(int count) { savedRows.addAndGet(count); }
+
+    public void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String message) {
+        finishedAt = Instant.now();
+        error = message;
+        state = State.FAILED;
+    }
+
+    public boolean isCompleted() { return state == State.COMPLETED; }
+
+    public State getState() { return state; }
+    public String getSource() { return source; }
+    public String getError() { return error; }
+    public int getTotalRows() { return totalRows.get(); }
+    public int getProcessedRows() { return processedRows.get(); }
+    public int getSavedRows() { return savedRows.get(); }
+
+    public int getPercent() {
+        int total = totalRows.get();
+        if (state == State.COMPLETED) return 100;
+        return total == 0 ? 0 : Math.min(100, processedRows.get() * 100 / total);
+    }
+
+    public Duration getElapsed() {
+        if (startedAt == null) return Duration.ZERO;
+        return Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+    }
+}
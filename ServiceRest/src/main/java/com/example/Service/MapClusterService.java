@@ -0,0 +1,174 @@
+package com.example.Service;
+
+import com.example.Dto.MapCluster;
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Model.HospitalPoint;
+import com.example.Repository.HospitalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Clusters précalculés pour la carte, un niveau de grille par zoom (tuiles Web Mercator
+ * subdivisées en cellsPerTile x cellsPerTile cellules).
+ *
+ * Chaque cellule porte des agrégats additifs (nombre, somme des coordonnées, lits, urgences);
+ * une mutation retire l'ancienne contribution de l'hôpital et ajoute la nouvelle, soit
+ * O(nombre de zooms) par mise à jour. Une requête ne renvoie que les cellules visibles,
+ * donc une réponse de taille bornée quel que soit le zoom.
+ */
+@Service
+public class MapClusterService {
+
+    @Autowired
+    private HospitalRepository hospitalRepository;
+
+    @Value("${map.cluster.max-zoom:16}")
+    private int maxZoom;
+
+    // 4 cellules par côté de tuile 256 px = cellules de 64 px
+    @Value("${map.cluster.cells-per-tile:4}")
+    private int cellsPerTile;
+
+    private List<Map<Long, Aggregate>> levels;
+    private final Map<Long, HospitalPoint> contributions = new ConcurrentHashMap<>();
+
+    private static final class Aggregate {
+        int count;
+        double sumLatitude;
+        double sumLongitude;
+        long sumIds; // = id de l'hôpital quand count == 1
+        long litsTotal;
+        long litsDisponibles;
+        int urgencesOuvertes;
+        long respirateurs;
+
+        void apply(HospitalPoint h, int sign) {
+            count += sign;
+            sumLatitude += sign * h.latitude();
+            sumLongitude += sign * h.longitude();
+            sumIds += sign * h.id();
+            litsTotal += sign * h.litsTotal();
+            litsDisponibles += sign * h.litsDisponibles();
+            urgencesOuvertes += sign * (h.urgenceOuvert() ? 1 : 0);
+            respirateurs += sign * h.respirateursDisponibles();
+        }
+
+        MapCluster toCluster() {
+            return new MapCluster(sumLatitude / count, sumLongitude / count, count,
+                    count == 1 ? sumIds : null, litsTotal, litsDisponibles, urgencesOuvertes, respirateurs);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        levels = new ArrayList<>(maxZoom + 1);
+        for (int z = 0; z <= maxZoom; z++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    @EventListener
+    public synchronized void onDataLoaded(HospitalDataLoadedEvent event) {
+        levels.forEach(Map::clear);
+        contributions.clear();
+        for (Hospital hospital : hospitalRepository.findAll()) {
+            if (HospitalPoint.isLocated(hospital)) {
+                add(HospitalPoint.from(hospital));
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onHospitalChange(HospitalChangeEvent event) {
+        HospitalPoint previous = contributions.remove(event.getHospitalId());
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        Hospital hospital = event.getHospital();
+        if (hospital != null && HospitalPoint.isLocated(hospital)) {
+            add(HospitalPoint.from(hospital));
+        }
+    }
+
+    public List<MapCluster> getClusters(double minLat, double minLon, double maxLat, double maxLon, int zoom) {
+        int z = Math.max(0, Math.min(maxZoom, zoom));
+        long n = cellsAcross(z);
+        long x0 = cellX(minLon, n), x1 = cellX(maxLon, n);
+        long y0 = cellY(maxLat, n), y1 = cellY(minLat, n); // l'axe y Mercator descend vers le sud
+        Map<Long, Aggregate> level = levels.get(z);
+
+        List<MapCluster> clusters = new ArrayList<>();
+        long rangeCells = (x1 - x0 + 1) * (y1 - y0 + 1);
+        if (rangeCells <= level.size()) {
+            // Petite fenêtre: lecture directe des cellules visibles
+            for (long x = x0; x <= x1; x++) {
+                for (long y = y0; y <= y1; y++) {
+                    Aggregate aggregate = level.get(key(x, y));
+                    addIfPresent(aggregate, clusters);
+                }
+            }
+        } else {
+            // Grande fenêtre: moins de cellules occupées que de cellules visibles
+            for (Map.Entry<Long, Aggregate> entry : level.entrySet()) {
+                long x = entry.getKey() >>> 32;
+                long y = entry.getKey() & 0xFFFFFFFFL;
+                if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                    addIfPresent(entry.getValue(), clusters);
+                }
+            }
+        }
+        return clusters;
+    }
+
+    private void addIfPresent(Aggregate aggregate, List<MapCluster> clusters) {
+        if (aggregate == null) return;
+        synchronized (aggregate) {
+            if (aggregate.count > 0) clusters.add(aggregate.toCluster());
+        }
+    }
+
+    private void add(HospitalPoint point) {
+        contributions.put(point.id(), point);
+        apply(point, 1);
+    }
+
+    private void apply(HospitalPoint point, int sign) {
+        for (int z = 0; z <= maxZoom; z++) {
+            long n = cellsAcross(z);
+            long key = key(cellX(point.longitude(), n), cellY(point.latitude(), n));
+            Map<Long, Aggregate> level = levels.get(z);
+            Aggregate aggregate = level.computeIfAbsent(key, k -> new Aggregate());
+            synchronized (aggregate) {
+                aggregate.apply(point, sign);
+                if (aggregate.count == 0) level.remove(key);
+            }
+        }
+    }
+
+    private long cellsAcross(int zoom) {
+        return (1L << zoom) * cellsPerTile;
+    }
+
+    private static long cellX(double longitude, long n) {
+        double lon = Math.max(-180.0, Math.min(180.0, longitude));
+        return Math.min(n - 1, (long) Math.floor((lon + 180.0) / 360.0 * n));
+    }
+
+    private static long cellY(double latitude, long n) {
+        double lat = Math.toRadians(Math.max(-85.05112878, Math.min(85.05112878, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+        return Math.max(0, Math.min(n - 1, (long) Math.floor(y * n)));
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+}
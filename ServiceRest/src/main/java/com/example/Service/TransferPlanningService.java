@@ -0,0 +1,78 @@
+package com.example.Service;
+
+import com.example.Dto.TransferPlan;
+import com.example.Dto.TransferRequest;
+import com.example.Model.HospitalPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Répartition des patients d'un hôpital saturé vers ses voisins.
+ *
+ * Glouton "plus contraint d'abord": les patients sous respirateur puis ceux qui demandent
+ * une spécialité sont placés en premier, chacun dans le voisin le plus proche qui a encore
+ * un lit (et un respirateur si besoin). Les capacités restantes sont décomptées au fil du
+ * plan (lits réservés déduits); les voisins eux-mêmes en surcharge critique sont exclus.
+ */
+@Service
+public class TransferPlanningService {
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private HospitalIndex hospitalIndex;
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    public TransferPlan plan(Long sourceId, TransferRequest request) {
+        // Vérifie l'existence de l'hôpital source (RuntimeException sinon, comme le reste de l'API)
+        hospitalService.getHospitalById(sourceId);
+
+        List<TransferRequest.Patient> patients = new ArrayList<>(
+                request.patients() != null ? request.patients() : List.of());
+        patients.sort(Comparator
+                .comparing((TransferRequest.Patient p) -> !Boolean.TRUE.equals(p.respirateur()))
+                .thenComparing(p -> p.specialite() == null || p.specialite().isEmpty()));
+
+        double maxDistance = request.maxDistanceKm() != null ? request.maxDistanceKm() : Double.MAX_VALUE;
+        DistanceMatrixService.Neighbours neighbours = distanceMatrixService.getNeighbours(sourceId);
+
+        // Capacités restantes des voisins candidats: [lits, respirateurs]
+        Map<Long, int[]> remaining = new HashMap<>();
+        List<TransferPlan.Assignment> assignments = new ArrayList<>();
+        List<String> unassigned = new ArrayList<>();
+        double totalDistance = 0;
+
+        for (TransferRequest.Patient patient : patients) {
+            TransferPlan.Assignment assignment = null;
+            for (int i = 0; i < neighbours.size() && neighbours.distancesKm()[i] <= maxDistance; i++) {
+                HospitalPoint candidate = hospitalIndex.get(neighbours.ids()[i]);
+                if (candidate == null || "critique".equalsIgnoreCase(candidate.niveauSurcharge())) continue;
+                if (!candidate.hasSpecialite(patient.specialite())) continue;
+
+                int[] capacity = remaining.computeIfAbsent(candidate.id(),
+                        id -> new int[]{candidate.litsDisponibles(),
+                                candidate.respirateursDisponibles()});
+                boolean needsVentilator = Boolean.TRUE.equals(patient.respirateur());
+                if (capacity[0] <= 0 || (needsVentilator && capacity[1] <= 0)) continue;
+
+                capacity[0]--;
+                if (needsVentilator) capacity[1]--;
+                assignment = new TransferPlan.Assignment(patient.ref(), candidate.id(), candidate.nomHopital(),
+                        neighbours.distancesKm()[i]);
+                break;
+            }
+            if (assignment != null) {
+                assignments.add(assignment);
+                totalDistance += assignment.distanceKm();
+            } else {
+                unassigned.add(patient.ref());
+            }
+        }
+        return new TransferPlan(sourceId, assignments, unassigned, totalDistance);
+    }
+}
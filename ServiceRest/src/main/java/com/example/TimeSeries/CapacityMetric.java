@@ -0,0 +1,50 @@
+package com.example.TimeSeries;
+
+import com.example.Model.Hospital;
+
+import java.util.function.Function;
+
+// Grandeurs historisées d'un hôpital (le niveau de surcharge est codé 1=faible .. 4=critique)
+public enum CapacityMetric {
+    LITS_OCCUPEES("litsOccupees", Hospital::getLitsOccupees),
+    TEMPS_ATTENTE_URGENCE("tempsAttenteUrgence", Hospital::getTempsAttenteUrgence),
+    NIVEAU_SURCHARGE("niveauSurcharge", h -> surchargeCode(h.getNiveauSurcharge())),
+    NB_MEDECINS_DISPONIBLES("nbMedecinsDisponibles", Hospital::getNbMedecinsDisponibles),
+    NB_INFIRMIERS_DISPONIBLES("nbInfirmiersDisponibles", Hospital::getNbInfirmiersDisponibles),
+    NB_AMBULANCES_DISPONIBLES("nbAmbulancesDisponibles", Hospital::getNbAmbulancesDisponibles),
+    RESPIRATEURS_DISPONIBLES("respirateursDisponibles", Hospital::getRespirateursDisponibles);
+
+    private final String field;
+    private final Function<Hospital, Integer> extractor;
+
+    CapacityMetric(String field, Function<Hospital, Integer> extractor) {
+        this.field = field;
+        this.extractor = extractor;
+    }
+
+    public String getField() { return field; }
+
+    public Integer valueOf(Hospital hospital) {
+        return extractor.apply(hospital);
+    }
+
+    public static CapacityMetric fromField(String field) {
+        for (CapacityMetric metric : values()) {
+            if (metric.field.equalsIgnoreCase(field) || metric.name().equalsIgnoreCase(field)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Métrique inconnue: " + field);
+    }
+
+    private static Integer surchargeCode(String niveau) {
+        if (niveau == null) return null;
+        switch (niveau.toLowerCase()) {
+            case "faible": return 1;
+            case "moyen": return 2;
+            case "élevé": return 3;
+            case "critique": return 4;
+            default: return null;
+        }
+    }
+}
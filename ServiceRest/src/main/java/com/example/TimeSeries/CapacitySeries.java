@@ -0,0 +1,237 @@
+package com.example.TimeSeries;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historique d'une grandeur pour un hôpital: échantillons bruts + agrégats 1m/1h/1d.
+ *
+ * Seuls les changements de valeur sont enregistrés; entre deux changements la valeur est tenue.
+ * Les agrégats sont pondérés par la durée de tenue: une valeur tenue 59 minutes pèse 59 fois plus
+ * qu'une valeur tenue une minute. Un intervalle sans changement n'est pas stocké: la requête le
+ * restitue avec la valeur reportée (count = 0). Une série close (hôpital supprimé) n'est plus reportée.
+ *
+ * Chaque résolution est une file de DeltaChunk; seul le dernier bloc reçoit des lignes.
+ * La rétention supprime des blocs entiers. Brut: [t, valeur];
+ * agrégats: [début, min, max, somme valeur x secondes, secondes, changements, dernière].
+ */
+public final class CapacitySeries {
+
+    private static final int MAX_ROWS_PER_CHUNK = 1024;
+    private static final int RAW_COLUMNS = 2;
+    private static final int BUCKET_COLUMNS = 7;
+
+    private final Map<Resolution, ArrayDeque<DeltaChunk>> chunks = new EnumMap<>(Resolution.class);
+    private final Map<Resolution, long[]> openBuckets = new EnumMap<>(Resolution.class);
+    private long lastTimestamp = Long.MIN_VALUE;
+    private Long lastValue;
+    private Long closedAt; // fin de la dernière valeur (hôpital supprimé), null tant que la série est vivante
+
+    public CapacitySeries() {
+        for (Resolution resolution : Resolution.values()) {
+            chunks.put(resolution, new ArrayDeque<>());
+        }
+    }
+
+    public synchronized Long getLastValue() {
+        return lastValue;
+    }
+
+    // Comparaison et ajout sous le même verrou: deux mises à jour concurrentes n'enregistrent pas deux fois
+    public synchronized boolean recordIfChanged(long epochSecond, long value) {
+        if (lastValue != null && lastValue == value) return false;
+        record(epochSecond, value);
+        return true;
+    }
+
+    public synchronized void record(long epochSecond, long value) {
+        // Les timestamps d'une série restent monotones
+        long timestamp = Math.max(epochSecond, lastTimestamp);
+        Long previous = lastValue;
+        long previousTimestamp = lastTimestamp;
+        // Série close: la valeur précédente n'est tenue que jusqu'à la clôture, l'intervalle suivant est vide
+        long heldUntil = closedAt != null ? Math.min(closedAt, timestamp) : timestamp;
+        boolean carried = previous != null && closedAt == null;
+        lastTimestamp = timestamp;
+        lastValue = value;
+        closedAt = null;
+
+        appendRow(Resolution.RAW, new long[]{timestamp, value}, RAW_COLUMNS);
+
+        for (Resolution resolution : Resolution.values()) {
+            if (resolution == Resolution.RAW) continue;
+            long start = resolution.bucketStart(timestamp);
+            long[] bucket = openBuckets.get(resolution);
+            if (bucket != null) {
+                // Valeur précédente tenue jusqu'au changement, ou jusqu'à la fin de son intervalle
+                hold(bucket, previous, previousTimestamp, Math.min(heldUntil, bucket[0] + resolution.getSeconds()));
+                if (bucket[0] != start) {
+                    appendRow(resolution, bucket, BUCKET_COLUMNS);
+                    bucket = null;
+                }
+            }
+            if (bucket == null) {
+                bucket = new long[]{start, value, value, 0, 0, 0, value};
+                if (carried) {
+                    // Tenue depuis le début de ce nouvel intervalle
+                    hold(bucket, previous, Math.max(previousTimestamp, start), timestamp);
+                }
+                openBuckets.put(resolution, bucket);
+            }
+            bucket[1] = Math.min(bucket[1], value);
+            bucket[2] = Math.max(bucket[2], value);
+            bucket[5]++;
+            bucket[6] = value;
+        }
+    }
+
+    // Fin de la série (hôpital supprimé): la dernière valeur n'est plus reportée au-delà
+    public synchronized void close(long epochSecond) {
+        if (lastValue == null || closedAt != null) return;
+        closedAt = Math.max(epochSecond, lastTimestamp);
+    }
+
+    public synchronized Long getClosedAt() {
+        return closedAt;
+    }
+
+    // now borne la tenue de la valeur courante (intervalle ouvert) et le report des intervalles vides
+    public synchronized List<HistoryPoint> query(Resolution resolution, long from, long to, long now) {
+        List<HistoryPoint> points = new ArrayList<>();
+        if (resolution == Resolution.RAW) {
+            for (DeltaChunk chunk : chunks.get(resolution)) {
+                chunk.forEach(from, to, row -> points.add(HistoryPoint.raw(row)));
+            }
+            return points;
+        }
+
+        long length = resolution.getSeconds();
+        long end = Math.min(to, closedAt != null ? closedAt : now);
+        long[] previous = null;
+        // Toutes les lignes jusqu'à "to": la dernière avant "from" donne la valeur reportée au début
+        List<long[]> rows = new ArrayList<>();
+        for (DeltaChunk chunk : chunks.get(resolution)) {
+            chunk.forEach(Long.MIN_VALUE, to, rows::add);
+        }
+        long[] open = openBuckets.get(resolution);
+        if (open != null && open[0] <= to) {
+            // Intervalle ouvert complété par la valeur courante, tenue jusqu'à maintenant (ou la clôture)
+            long[] completed = open.clone();
+            hold(completed, lastValue, lastTimestamp, Math.min(open[0] + length, closedAt != null ? closedAt : now));
+            rows.add(completed);
+        }
+        for (long[] row : rows) {
+            if (previous != null) {
+                carry(previous[6], previous[0] + length, row[0], from, to, length, points);
+            }
+            if (row[0] >= from) {
+                points.add(HistoryPoint.bucket(row));
+            }
+            previous = row;
+        }
+        if (previous != null) {
+            carry(previous[6], previous[0] + length, resolution.bucketStart(end - 1) + 1, from, to, length, points);
+        }
+        return points;
+    }
+
+    // Intervalles [firstStart, untilStart[ sans changement, restreints à [from, to]: valeur reportée
+    private static void carry(long value, long firstStart, long untilStart, long from, long to, long length,
+                              List<HistoryPoint> out) {
+        long start = firstStart;
+        if (start < from) {
+            start += Math.floorDiv(from - start + length - 1, length) * length;
+        }
+        for (; start < untilStart && start <= to; start += length) {
+            out.add(HistoryPoint.carried(start, value));
+        }
+    }
+
+    private static void hold(long[] bucket, Long value, long from, long to) {
+        if (value == null || to <= from) return;
+        long seconds = to - from;
+        bucket[1] = Math.min(bucket[1], value);
+        bucket[2] = Math.max(bucket[2], value);
+        bucket[3] += value * seconds;
+        bucket[4] += seconds;
+    }
+
+    // Supprime les blocs entièrement antérieurs à la limite de rétention de leur résolution
+    public synchronized void applyRetention(Map<Resolution, Long> retentionSeconds, long now) {
+        for (Resolution resolution : Resolution.values()) {
+            Long retention = retentionSeconds.get(resolution);
+            if (retention == null || retention <= 0) continue;
+            ArrayDeque<DeltaChunk> queue = chunks.get(resolution);
+            // Le dernier bloc reste ouvert en écriture
+            while (queue.size() > 1 && queue.peekFirst().getLastTimestamp() < now - retention) {
+                queue.pollFirst();
+            }
+        }
+    }
+
+    public synchronized long sizeInBytes() {
+        long total = 0;
+        for (ArrayDeque<DeltaChunk> queue : chunks.values()) {
+            for (DeltaChunk chunk : queue) {
+                total += chunk.getSizeInBytes();
+            }
+        }
+        return total;
+    }
+
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(lastTimestamp);
+        out.writeBoolean(lastValue != null);
+        if (lastValue != null) out.writeLong(lastValue);
+        out.writeBoolean(closedAt != null);
+        if (closedAt != null) out.writeLong(closedAt);
+        for (Resolution resolution : Resolution.values()) {
+            ArrayDeque<DeltaChunk> queue = chunks.get(resolution);
+            out.writeInt(queue.size());
+            for (DeltaChunk chunk : queue) {
+                chunk.writeTo(out);
+            }
+            long[] open = openBuckets.get(resolution);
+            out.writeBoolean(open != null);
+            if (open != null) {
+                for (long v : open) out.writeLong(v);
+            }
+        }
+    }
+
+    public static CapacitySeries readFrom(DataInputStream in) throws IOException {
+        CapacitySeries series = new CapacitySeries();
+        series.lastTimestamp = in.readLong();
+        if (in.readBoolean()) series.lastValue = in.readLong();
+        if (in.readBoolean()) series.closedAt = in.readLong();
+        for (Resolution resolution : Resolution.values()) {
+            int count = in.readInt();
+            ArrayDeque<DeltaChunk> queue = series.chunks.get(resolution);
+            for (int i = 0; i < count; i++) {
+                queue.addLast(DeltaChunk.readFrom(in));
+            }
+            if (in.readBoolean()) {
+                long[] open = new long[BUCKET_COLUMNS];
+                for (int i = 0; i < BUCKET_COLUMNS; i++) open[i] = in.readLong();
+                series.openBuckets.put(resolution, open);
+            }
+        }
+        return series;
+    }
+
+    private void appendRow(Resolution resolution, long[] row, int columns) {
+        ArrayDeque<DeltaChunk> queue = chunks.get(resolution);
+        DeltaChunk current = queue.peekLast();
+        if (current == null || current.getRows() >= MAX_ROWS_PER_CHUNK) {
+            current = new DeltaChunk(columns);
+            queue.addLast(current);
+        }
+        current.append(row);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.TimeSeries;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Bloc append-only de lignes numériques compressées.
+ *
+ * Colonne 0 = timestamp (secondes) encodé en delta-of-delta, autres colonnes encodées en delta
+ * par rapport à la ligne précédente; chaque valeur est un varint zigzag. Une série régulière
+ * (pas constant, valeurs qui bougent peu) coûte donc environ un octet par colonne.
+ */
+public final class DeltaChunk {
+
+    private final int columns;
+    private byte[] data;
+    private int size;
+    private int rows;
+    private final long[] previous;
+    private long previousTimestampDelta;
+    private long firstTimestamp;
+    private long lastTimestamp;
+
+    public DeltaChunk(int columns) {
+        this(columns, 64);
+    }
+
+    private DeltaChunk(int columns, int capacity) {
+        this.columns = columns;
+        this.data = new byte[capacity];
+        this.previous = new long[columns];
+    }
+
+    public void append(long[] row) {
+        long timestamp = row[0];
+        if (rows == 0) {
+            writeVarLong(zigzag(timestamp));
+            for (int i = 1; i < columns; i++) {
+                writeVarLong(zigzag(row[i]));
+            }
+            firstTimestamp = timestamp;
+            previousTimestampDelta = 0;
+        } else {
+            long delta = timestamp - previous[0];
+            writeVarLong(zigzag(delta - previousTimestampDelta));
+            previousTimestampDelta = delta;
+            for (int i = 1; i < columns; i++) {
+                writeVarLong(zigzag(row[i] - previous[i]));
+            }
+        }
+        System.arraycopy(row, 0, previous, 0, columns);
+        lastTimestamp = timestamp;
+        rows++;
+    }
+
+    // Décode les lignes dont le timestamp est dans [from, to]
+    public void forEach(long from, long to, Consumer<long[]> consumer) {
+        if (rows == 0 || lastTimestamp < from || firstTimestamp > to) return;
+        int[] position = {0};
+        long[] row = new long[columns];
+        long timestampDelta = 0;
+        for (int r = 0; r < rows; r++) {
+            if (r == 0) {
+                for (int i = 0; i < columns; i++) {
+                    row[i] = unzigzag(readVarLong(position));
+                }
+            } else {
+                timestampDelta += unzigzag(readVarLong(position));
+                row[0] += timestampDelta;
+                for (int i = 1; i < columns; i++) {
+                    row[i] += unzigzag(readVarLong(position));
+                }
+            }
+            if (row[0] > to) return;
+            if (row[0] >= from) consumer.accept(row.clone());
+        }
+    }
+
+    public int getRows() { return rows; }
+    public int getSizeInBytes() { return size; }
+    public long getFirstTimestamp() { return firstTimestamp; }
+    public long getLastTimestamp() { return lastTimestamp; }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(columns);
+        out.writeInt(rows);
+        out.writeLong(firstTimestamp);
+        out.writeLong(lastTimestamp);
+        out.writeLong(previousTimestampDelta);
+        for (long value : previous) {
+            out.writeLong(value);
+        }
+        out.writeInt(size);
+        out.write(data, 0, size);
+    }
+
+    public static DeltaChunk readFrom(DataInputStream in) throws IOException {
+        int columns = in.readUnsignedByte();
+        int rows = in.readInt();
+        long first = in.readLong();
+        long last = in.readLong();
+        long previousTimestampDelta = in.readLong();
+        long[] previous = new long[columns];
+        for (int i = 0; i < columns; i++) {
+            previous[i] = in.readLong();
+        }
+        int size = in.readInt();
+        DeltaChunk chunk = new DeltaChunk(columns, Math.max(size, 16));
+        in.readFully(chunk.data, 0, size);
+        chunk.size = size;
+        chunk.rows = rows;
+        chunk.firstTimestamp = first;
+        chunk.lastTimestamp = last;
+        chunk.previousTimestampDelta = previousTimestampDelta;
+        System.arraycopy(previous, 0, chunk.previous, 0, columns);
+        return chunk;
+    }
+
+    private void writeVarLong(long value) {
+        if (size + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    private long readVarLong(int[] position) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.TimeSeries;
+
+import java.time.Instant;
+
+// Point d'historique: échantillon brut (min = max = last, count = 1) ou agrégat d'un intervalle
+// (avg pondérée par la durée de tenue, count = nombre de changements, 0 pour une valeur reportée)
+public record HistoryPoint(Instant timestamp, long min, long max, double avg, long count, long last) {
+
+    static HistoryPoint raw(long[] row) {
+        return new HistoryPoint(Instant.ofEpochSecond(row[0]), row[1], row[1], row[1], 1, row[1]);
+    }
+
+    static HistoryPoint bucket(long[] row) {
+        long seconds = row[4];
+        return new HistoryPoint(Instant.ofEpochSecond(row[0]), row[1], row[2],
+                seconds == 0 ? row[6] : (double) row[3] / seconds, row[5], row[6]);
+    }
+
+    static HistoryPoint carried(long start, long value) {
+        return new HistoryPoint(Instant.ofEpochSecond(start), value, value, value, 0, value);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.TimeSeries;
+
+// Résolutions de l'historique: échantillons bruts puis agrégats 1 minute / 1 heure / 1 jour
+public enum Resolution {
+    RAW("raw", 0),
+    MINUTE("1m", 60),
+    HOUR("1h", 3600),
+    DAY("1d", 86400);
+
+    private final String code;
+    private final long seconds;
+
+    Resolution(String code, long seconds) {
+        this.code = code;
+        this.seconds = seconds;
+    }
+
+    public String getCode() { return code; }
+    public long getSeconds() { return seconds; }
+
+    public long bucketStart(long epochSecond) {
+        return seconds == 0 ? epochSecond : Math.floorDiv(epochSecond, seconds) * seconds;
+    }
+
+    public static Resolution fromCode(String code) {
+        for (Resolution resolution : values()) {
+            if (resolution.code.equalsIgnoreCase(code) || resolution.name().equalsIgnoreCase(code)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Résolution inconnue: " + code + " (raw, 1m, 1h, 1d)");
+    }
+}
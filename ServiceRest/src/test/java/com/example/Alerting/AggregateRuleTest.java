@@ -0,0 +1,90 @@
+package com.example.Alerting;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.Alerting.ThresholdRuleTest.state;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregateRuleTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final AlertMetric RESPIRATEURS = AlertMetric.RESPIRATEURS_DISPONIBLES;
+
+    @Test
+    void sumPerCityFiresAndResolvesByDifference() {
+        AlertRule rule = AlertRule.create(1, definition(AlertRuleDefinition.Aggregation.SUM,
+                AlertRuleDefinition.GroupBy.VILLE, "<", 5.0));
+        List<Alert> out = new ArrayList<>();
+
+        HospitalState a = state("Tunis", "CHU", RESPIRATEURS, 4);
+        HospitalState b = state("Tunis", "Privé", RESPIRATEURS, 3);
+        rule.update(1, null, a, NOW, out);
+        assertEquals(1, out.size());
+        assertEquals(Alert.State.FIRING, out.get(0).state());
+        assertEquals("ville:Tunis", out.get(0).subject());
+
+        // 4 + 3 = 7: le groupe sort de l'alerte
+        rule.update(2, null, b, NOW, out);
+        assertEquals(2, out.size());
+        assertEquals(Alert.State.RESOLVED, out.get(1).state());
+        assertEquals(7.0, out.get(1).value());
+
+        // 4 + 0 = 4: de nouveau en alerte
+        HospitalState bEmpty = state("Tunis", "Privé", RESPIRATEURS, 0);
+        rule.update(2, b, bEmpty, NOW, out);
+        assertEquals(3, out.size());
+        assertEquals(4.0, out.get(2).value());
+        assertEquals(1, rule.getFiringCount());
+    }
+
+    @Test
+    void movingHospitalReevaluatesOldAndNewGroup() {
+        AlertRule rule = AlertRule.create(1, definition(AlertRuleDefinition.Aggregation.COUNT,
+                AlertRuleDefinition.GroupBy.VILLE, ">=", 2.0));
+        List<Alert> out = new ArrayList<>();
+
+        rule.update(1, null, state("Sfax", "CHU", RESPIRATEURS, 1), NOW, out);
+        rule.update(2, null, state("Tunis", "CHU", RESPIRATEURS, 1), NOW, out);
+        HospitalState inTunis = state("Tunis", "CHU", RESPIRATEURS, 1);
+        rule.update(3, null, inTunis, NOW, out);
+        assertEquals(List.of("ville:Tunis"), out.stream().map(Alert::subject).toList());
+
+        // L'hôpital 3 passe à Sfax: Tunis se résout, Sfax entre en alerte
+        rule.update(3, inTunis, state("Sfax", "CHU", RESPIRATEURS, 1), NOW, out);
+        assertEquals(3, out.size());
+        assertEquals(Alert.State.RESOLVED, out.get(1).state());
+        assertEquals("ville:Tunis", out.get(1).subject());
+        assertEquals(Alert.State.FIRING, out.get(2).state());
+        assertEquals("ville:Sfax", out.get(2).subject());
+    }
+
+    @Test
+    void emptiedGroupResolvesAndAverageIgnoresMissingValues() {
+        AlertRule rule = AlertRule.create(1, definition(AlertRuleDefinition.Aggregation.AVG,
+                AlertRuleDefinition.GroupBy.NONE, "<", 2.0));
+        List<Alert> out = new ArrayList<>();
+
+        HospitalState one = state("Tunis", "CHU", RESPIRATEURS, 1);
+        rule.update(1, null, one, NOW, out);
+        rule.update(2, null, state("Tunis", "CHU", AlertMetric.LITS_DISPONIBLES, 10), NOW, out);
+        assertEquals(1, out.size());
+        assertEquals(1.0, out.get(0).value());
+
+        rule.update(1, one, null, NOW, out);
+        assertEquals(2, out.size());
+        assertEquals(Alert.State.RESOLVED, out.get(1).state());
+        assertTrue(Double.isNaN(out.get(1).value()));
+        assertEquals(0, rule.getFiringCount());
+    }
+
+    private static AlertRuleDefinition definition(AlertRuleDefinition.Aggregation aggregation,
+                                                  AlertRuleDefinition.GroupBy groupBy, String operator, Double threshold) {
+        return new AlertRuleDefinition(null, AlertRuleDefinition.Kind.AGGREGATE, "respirateursDisponibles",
+                operator, threshold, aggregation, groupBy, null, null);
+    }
+}
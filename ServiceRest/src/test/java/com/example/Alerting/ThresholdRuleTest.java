@@ -0,0 +1,86 @@
+package com.example.Alerting;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThresholdRuleTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void firesOnceOnEnteringViolationAndResolvesOnLeaving() {
+        AlertRule rule = AlertRule.create(1, definition("tempsAttenteUrgence", ">", 90.0, null));
+        List<Alert> out = new ArrayList<>();
+
+        HospitalState ok = state("Tunis", "CHU", AlertMetric.TEMPS_ATTENTE_URGENCE, 30);
+        HospitalState slow = state("Tunis", "CHU", AlertMetric.TEMPS_ATTENTE_URGENCE, 120);
+        HospitalState slower = state("Tunis", "CHU", AlertMetric.TEMPS_ATTENTE_URGENCE, 150);
+
+        rule.update(7, null, ok, NOW, out);
+        assertTrue(out.isEmpty());
+
+        rule.update(7, ok, slow, NOW, out);
+        rule.update(7, slow, slower, NOW, out);
+        assertEquals(1, out.size());
+        assertEquals(Alert.State.FIRING, out.get(0).state());
+        assertEquals("hospital:7", out.get(0).subject());
+        assertEquals(1, rule.getFiringCount());
+
+        rule.update(7, slower, ok, NOW, out);
+        assertEquals(2, out.size());
+        assertEquals(Alert.State.RESOLVED, out.get(1).state());
+        assertEquals(0, rule.getFiringCount());
+    }
+
+    @Test
+    void resolvesWhenFiringHospitalIsDeleted() {
+        AlertRule rule = AlertRule.create(1, definition("litsDisponibles", "<", 5.0, null));
+        List<Alert> out = new ArrayList<>();
+        HospitalState full = state("Sfax", "CHU", AlertMetric.LITS_DISPONIBLES, 0);
+
+        rule.update(3, null, full, NOW, out);
+        rule.update(3, full, null, NOW, out);
+
+        assertEquals(List.of(Alert.State.FIRING, Alert.State.RESOLVED), out.stream().map(Alert::state).toList());
+    }
+
+    @Test
+    void ignoresHospitalsOutsideFilterAndMissingValues() {
+        AlertRule rule = AlertRule.create(1, definition("litsDisponibles", "<", 5.0, "Tunis"));
+        List<Alert> out = new ArrayList<>();
+
+        rule.update(1, null, state("Sfax", "CHU", AlertMetric.LITS_DISPONIBLES, 0), NOW, out);
+        rule.update(2, null, state("tunis ", "CHU", AlertMetric.TEMPS_ATTENTE_URGENCE, 10), NOW, out);
+        assertTrue(out.isEmpty());
+
+        rule.update(3, null, state("TUNIS", "CHU", AlertMetric.LITS_DISPONIBLES, 2), NOW, out);
+        assertEquals(1, out.size());
+    }
+
+    @Test
+    void rejectsIncompleteDefinitions() {
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create(1, definition("litsDisponibles", "<", null, null)));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create(1, definition("inconnue", "<", 1.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create(1, definition("litsDisponibles", "!=", 1.0, null)));
+    }
+
+    private static AlertRuleDefinition definition(String metric, String operator, Double threshold, String ville) {
+        return new AlertRuleDefinition(null, AlertRuleDefinition.Kind.THRESHOLD, metric, operator, threshold,
+                null, null, ville, null);
+    }
+
+    static HospitalState state(String ville, String type, AlertMetric metric, double value) {
+        double[] values = new double[AlertMetric.values().length];
+        Arrays.fill(values, Double.NaN);
+        values[metric.ordinal()] = value;
+        return new HospitalState(ville, type, values);
+    }
+}
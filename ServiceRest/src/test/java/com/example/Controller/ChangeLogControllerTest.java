@@ -0,0 +1,52 @@
+package com.example.Controller;
+
+import com.example.Dto.ChangeLogPage;
+import com.example.Service.ChangeLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeLogControllerTest {
+
+    private static final String EPOCH = "epoch-1";
+
+    private final ChangeLogService service = mock(ChangeLogService.class);
+    private final ChangeLogController controller = new ChangeLogController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "changeLogService", service);
+        when(service.getEpoch()).thenReturn(EPOCH);
+        when(service.getHeadOffset()).thenReturn(42L);
+        when(service.getChanges(10, 500)).thenReturn(new ChangeLogPage(EPOCH, List.of(), 42, 42));
+    }
+
+    @Test
+    void matchingEpochWithinHeadIsServed() {
+        assertEquals(HttpStatus.OK, controller.getChanges(10, 500, EPOCH).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getChanges(10, 500, null).getStatusCode());
+    }
+
+    @Test
+    void otherEpochIsGone() {
+        assertEquals(HttpStatus.GONE, controller.getChanges(10, 500, "epoch-0").getStatusCode());
+    }
+
+    @Test
+    void offsetBeyondHeadIsGone() {
+        assertEquals(HttpStatus.GONE, controller.getChanges(43, 500, EPOCH).getStatusCode());
+        assertEquals(HttpStatus.GONE, controller.getChanges(43, 500, null).getStatusCode());
+    }
+
+    @Test
+    void negativeOffsetIsRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getChanges(-1, 500, EPOCH).getStatusCode());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.LoadTest;
+
+import com.example.Repository.HospitalRepository;
+import com.example.ServiceRESTApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comparaison taille / débit de l'export Arrow (/api/hospitals/export) avec la liste JSON
+ * (/api/hospitals) et le CSV source.
+ *
+ * Génère un CSV synthétique (comme ImportBenchmark), démarre l'application avec ce fichier puis
+ * télécharge chaque représentation loadtest.export.iterations fois après deux tirs de chauffe.
+ * Une ligne RESULT par format: octets, octets par ligne, taille gzip, durée médiane du téléchargement,
+ * lignes/s et Mo/s. Le CSV n'est pas servi par l'API: seules ses tailles sont données.
+ * La sortie console de l'application est envoyée dans target/loadtest/export.log.
+ *
+ * Lancement: mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.example.LoadTest.ExportBenchmark
+ *   -Dloadtest.export.rows=20000 -Dloadtest.export.iterations=5 -Dloadtest.seed=42
+ */
+public final class ExportBenchmark {
+
+    private static final int WARMUP = 2;
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("loadtest.export.rows", 20000);
+        int iterations = Integer.getInteger("loadtest.export.iterations", 5);
+        long seed = Long.getLong("loadtest.seed", 42L);
+
+        Path csv = Files.createTempDirectory("export-benchmark").resolve("hospitals.csv");
+        Path log = Paths.get("target/loadtest/export.log");
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        PrintStream console = System.out;
+        byte[] csvContent;
+        ConfigurableApplicationContext context;
+        try (PrintStream appOut = new PrintStream(Files.newOutputStream(log), true, StandardCharsets.UTF_8)) {
+            ImportBenchmark.writeCsv(csv, SyntheticDataset.generate(rows, seed));
+            csvContent = Files.readAllBytes(csv);
+            System.setOut(appOut);
+            context = new SpringApplicationBuilder(ServiceRESTApplication.class)
+                    .profiles("prod")
+                    .run(LoadTestRunner.withOverrides(args,
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:exportbench;DB_CLOSE_DELAY=-1",
+                            "csv.file.path=" + csv.toUri(),
+                            "csv.import.async=false",
+                            "csv.import.skip-if-current=false",
+                            "snapshot.enabled=false",
+                            "history.file.path="));
+        } finally {
+            System.setOut(console);
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(csv.getParent());
+        }
+
+        try {
+            long saved = context.getBean(HospitalRepository.class).count();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/hospitals";
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+            console.printf("RESULT format=csv rows=%d bytes=%d bytesPerRow=%.1f gzipBytes=%d%n",
+                    saved, csvContent.length, csvContent.length / (double) saved, gzipSize(csvContent));
+            measure(console, client, "json", baseUrl, saved, iterations);
+            measure(console, client, "arrow", baseUrl + "/export?format=arrow", saved, iterations);
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static void measure(PrintStream console, HttpClient client, String format, String url,
+                                long rows, int iterations) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).GET().build();
+        byte[] body = null;
+        long[] nanos = new long[iterations];
+        for (int i = -WARMUP; i < iterations; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(format + ": HTTP " + response.statusCode());
+            }
+            body = response.body();
+            if (i >= 0) nanos[i] = elapsed;
+        }
+        Arrays.sort(nanos);
+        double medianMillis = nanos[iterations / 2] / 1_000_000.0;
+        console.printf("RESULT format=%s rows=%d bytes=%d bytesPerRow=%.1f gzipBytes=%d medianMs=%.1f "
+                        + "rowsPerSecond=%.0f mbPerSecond=%.1f%n",
+                format, rows, body.length, body.length / (double) rows, gzipSize(body), medianMillis,
+                rows / (medianMillis / 1000.0), body.length / 1_048_576.0 / (medianMillis / 1000.0));
+    }
+
+    private static long gzipSize(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content);
+        }
+        return bytes.size();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.LoadTest;
+
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import com.example.Service.ImportProgress;
+import com.example.ServiceRESTApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de la durée d'import CSV jusqu'à la readiness.
+ *
+ * Génère un CSV synthétique au format de data/hospitaldata.csv dans un répertoire temporaire, démarre
+ * l'application avec ce fichier (csv.file.path=file:..., import synchrone, H2 mémoire, sans snapshot)
+ * puis affiche une ligne RESULT: importMs = lecture + sauvegarde (timer hospital.csv.import.duration),
+ * readyMs = jusqu'à la fin de l'import, index dérivés compris (listeners de HospitalDataLoadedEvent),
+ * c'est-à-dire jusqu'à ce que la readiness passe UP.
+ * La sortie console de l'application est envoyée dans target/loadtest/import-<profils>.log.
+ *
+ * Lancement: mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.example.LoadTest.ImportBenchmark
+ *   -Dloadtest.import.rows=20000 -Dloadtest.import.profiles=prod -Dloadtest.seed=42
+ */
+public final class ImportBenchmark {
+
+    private static final String HEADER = "NomHopital;Type;Ville ;Telephone;Adresse ;LitsTotales;"
+            + "Specialites Principales;latitude;longitude;litsOccupees;litsDisponibles;urgence_ouvert;"
+            + "temps_attente_urgence;niveau_surcharge;nb_medecins_disponibles;nb_infirmiers_disponibles;"
+            + "nb_ambulances_disponibles;respirateurs_disponibles;bloc_operatoire_disponible";
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("loadtest.import.rows", 20000);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        String profiles = System.getProperty("loadtest.import.profiles", "prod");
+
+        Path csv = Files.createTempDirectory("import-benchmark").resolve("import.csv");
+        writeCsv(csv, SyntheticDataset.generate(rows, seed));
+
+        Path log = Paths.get("target/loadtest/import-" + (profiles.isEmpty() ? "default" : profiles) + ".log");
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        PrintStream console = System.out;
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context;
+        try (PrintStream appOut = new PrintStream(Files.newOutputStream(log), true, StandardCharsets.UTF_8)) {
+            System.setOut(appOut);
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(ServiceRESTApplication.class);
+            if (!profiles.isEmpty()) {
+                builder.profiles(profiles.split(","));
+            }
+            context = builder.run(LoadTestRunner.withOverrides(args,
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:importbench;DB_CLOSE_DELAY=-1",
+                    "csv.file.path=" + csv.toUri(),
+                    "csv.import.async=false",
+                    "csv.import.skip-if-current=false",
+                    "snapshot.enabled=false",
+                    "history.file.path="));
+        } finally {
+            System.setOut(console);
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(csv.getParent());
+        }
+        long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        try {
+            Timer timer = context.getBean(MeterRegistry.class).find("hospital.csv.import.duration").timer();
+            double importMillis = timer != null ? timer.totalTime(TimeUnit.MILLISECONDS) : Double.NaN;
+            ImportProgress progress = context.getBean(ImportProgress.class);
+            if (progress.getState() != ImportProgress.State.COMPLETED) {
+                throw new IllegalStateException("Import non terminé: " + progress.getState() + " " + progress.getError());
+            }
+            long readyMillis = progress.getElapsed().toMillis();
+            long saved = context.getBean(HospitalRepository.class).count();
+            console.printf("RESULT profiles=%s rows=%d saved=%d importMs=%.0f readyMs=%d startupMs=%d rowsPerSecond=%.0f%n",
+                    profiles.isEmpty() ? "default" : profiles, rows, saved, importMillis, readyMillis, startupMillis,
+                    saved / (readyMillis / 1000.0));
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    static void writeCsv(Path csv, List<Hospital> hospitals) throws IOException {
+        Files.createDirectories(csv.getParent());
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.write('\n');
+            for (Hospital h : hospitals) {
+                out.write(String.join(";",
+                        h.getNomHopital(), h.getType(), h.getVille(), h.getTelephone(), h.getAdresse(),
+                        String.valueOf(h.getLitsTotal()), String.join(", ", h.getSpecialitesPrincipales()),
+                        String.valueOf(h.getLatitude()), String.valueOf(h.getLongitude()),
+                        String.valueOf(h.getLitsOccupees()), String.valueOf(h.getLitsDisponibles()),
+                        bool(h.getUrgenceOuvert()), h.getTempsAttenteUrgence() + ".0", h.getNiveauSurcharge(),
+                        String.valueOf(h.getNbMedecinsDisponibles()), String.valueOf(h.getNbInfirmiersDisponibles()),
+                        String.valueOf(h.getNbAmbulancesDisponibles()), String.valueOf(h.getRespirateursDisponibles()),
+                        bool(h.getBlocOperatoireDisponible())));
+                out.write('\n');
+            }
+        }
+    }
+
+    private static String bool(Boolean value) {
+        return Boolean.TRUE.equals(value) ? "VRAI" : "FAUX";
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.LoadTest;
+
+// Latences d'une opération pour un worker (pas de synchronisation: un recorder par thread, fusionnés à la fin).
+// Histogramme à taille fixe façon HdrHistogram: chaque puissance de deux est découpée en 2^SUB_BITS
+// intervalles linéaires, soit une erreur relative < 1% quelle que soit la durée du tir.
+final class LatencyRecorder {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // Au-delà de 2^45 ns (~9,7 h) les valeurs sont comptées dans le dernier intervalle
+    private static final int MAX_MAGNITUDE = 44;
+    private static final int BUCKETS = SUB_COUNT + (MAX_MAGNITUDE - SUB_BITS + 1) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long errors;
+    private long total;
+    private long max;
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    void error() {
+        errors++;
+    }
+
+    long count() { return count; }
+    long errors() { return errors; }
+
+    void mergeInto(LatencyRecorder target) {
+        for (int i = 0; i < BUCKETS; i++) {
+            target.counts[i] += counts[i];
+        }
+        target.count += count;
+        target.errors += errors;
+        target.total += total;
+        target.max = Math.max(target.max, max);
+    }
+
+    // Percentile en millisecondes (rang le plus proche, borne haute de l'intervalle)
+    double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), max) / 1_000_000.0;
+            }
+        }
+        return max / 1_000_000.0;
+    }
+
+    double meanMillis() {
+        if (count == 0) return 0;
+        return total / (double) count / 1_000_000.0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) return BUCKETS - 1;
+        int sub = (int) ((value >>> (magnitude - SUB_BITS)) & (SUB_COUNT - 1));
+        return SUB_COUNT + (magnitude - SUB_BITS) * SUB_COUNT + sub;
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < SUB_COUNT) return index;
+        int magnitude = SUB_BITS + (index - SUB_COUNT) / SUB_COUNT;
+        long sub = (index - SUB_COUNT) % SUB_COUNT;
+        long width = 1L << (magnitude - SUB_BITS);
+        return (1L << magnitude) + sub * width + width - 1;
+    }
+}
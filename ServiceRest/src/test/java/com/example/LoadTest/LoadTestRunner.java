@@ -0,0 +1,297 @@
+package com.example.LoadTest;
+
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import com.example.ServiceRESTApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Test de charge / d'endurance des endpoints /api/hospitals.
+ *
+ * Démarre ServiceRESTApplication sur un port libre avec une base H2 mémoire remplie par
+ * l'import au démarrage d'un CSV généré par SyntheticDataset (répertoire temporaire), puis envoie un mélange pondéré de requêtes (boucle fermée, un client
+ * HTTP par worker). Le rapport JSON contient débit et p50/p99/p999 par opération; le code
+ * de sortie est non nul si un budget de performance est dépassé.
+ *
+ * Lancement: mvn -Ploadtest test-compile exec:java
+ *   -Dloadtest.hospitals=2000 -Dloadtest.threads=32 -Dloadtest.duration=PT60S -Dloadtest.warmup=PT10S
+ *   -Dloadtest.mix=read:55,list:2,search:18,proximity:15,updateBeds:10 -Dloadtest.seed=42
+ *   -Dloadtest.budget.p99Ms=50 -Dloadtest.budget.minThroughput=1000 -Dloadtest.output=target/loadtest/report.json
+ * Pour un test d'endurance, augmenter loadtest.duration (ex: PT2H); un point d'étape est affiché toutes les 10 s.
+ */
+public final class LoadTestRunner {
+
+    enum Operation { READ, LIST, SEARCH, PROXIMITY, UPDATE_BEDS }
+
+    public static void main(String[] args) throws Exception {
+        int hospitals = Integer.getInteger("loadtest.hospitals", 2000);
+        int threads = Integer.getInteger("loadtest.threads", 32);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+                "read:55,list:2,search:18,proximity:15,updateBeds:10"));
+        Path output = Paths.get(System.getProperty("loadtest.output", "target/loadtest/report.json"));
+
+        // Un fichier absent fait échouer l'import: le jeu synthétique passe par un vrai CSV
+        Path csv = Files.createTempDirectory("load-test").resolve("hospitals.csv");
+        ConfigurableApplicationContext context;
+        try {
+            ImportBenchmark.writeCsv(csv, SyntheticDataset.generate(hospitals, seed));
+            // Arguments de ligne de commande: priorité sur application.properties (contrairement à properties())
+            context = new SpringApplicationBuilder(ServiceRESTApplication.class)
+                    .profiles("prod")
+                    .run(withOverrides(args,
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                            "csv.file.path=" + csv.toUri(),
+                            "csv.import.async=false",
+                            "csv.import.skip-if-current=false",
+                            "snapshot.enabled=false",
+                            "history.file.path=",
+                            "logging.level.com.example=WARN"));
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(csv.getParent());
+        }
+
+        int exitCode;
+        try {
+            List<Long> ids = loadedIds(context);
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            String baseUrl = "http://localhost:" + port + "/api/hospitals";
+
+            System.out.printf("Charge: %d hôpitaux, %d threads, %s (+%s de chauffe), mélange %s%n",
+                    ids.size(), threads, duration, warmup, mix);
+
+            run(baseUrl, ids, threads, seed, mix, warmup, null);
+            Map<Operation, LatencyRecorder> results = new EnumMap<>(Operation.class);
+            long measuredNanos = run(baseUrl, ids, threads, seed + 1, mix, duration, results);
+
+            Map<String, Object> report = report(results, measuredNanos, hospitals, threads, seed, mix);
+            List<String> violations = checkBudgets(report);
+            report.put("budgetViolations", violations);
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            mapper.writeValue(output.toFile(), report);
+            System.out.println(mapper.writeValueAsString(report));
+            System.out.println("Rapport écrit dans " + output.toAbsolutePath());
+
+            violations.forEach(v -> System.err.println("BUDGET DÉPASSÉ: " + v));
+            exitCode = violations.isEmpty() ? 0 : 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    static String[] withOverrides(String[] args, String... properties) {
+        List<String> all = new ArrayList<>();
+        for (String property : properties) {
+            all.add("--" + property);
+        }
+        all.addAll(Arrays.asList(args));
+        return all.toArray(new String[0]);
+    }
+
+    private static List<Long> loadedIds(ConfigurableApplicationContext context) {
+        List<Long> ids = new ArrayList<>();
+        for (Hospital hospital : context.getBean(HospitalRepository.class).findAll()) {
+            ids.add(hospital.getId());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Aucun hôpital importé");
+        }
+        return ids;
+    }
+
+    // Boucle fermée: chaque worker enchaîne les requêtes jusqu'à l'échéance; retourne la durée mesurée
+    private static long run(String baseUrl, List<Long> ids, int threads, long seed, Map<Operation, Integer> mix,
+                            Duration duration, Map<Operation, LatencyRecorder> results) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(baseUrl, ids, new Random(seed * 31 + t), mix, deadline);
+            futures.add(pool.submit(worker));
+        }
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        if (results != null) {
+            progress.scheduleAtFixedRate(() -> System.out.printf("[%s] %ds écoulées%n", Instant.now(),
+                    Duration.ofNanos(System.nanoTime() - start).toSeconds()), 10, 10, TimeUnit.SECONDS);
+        }
+
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            Map<Operation, LatencyRecorder> partial = future.get();
+            if (results != null) {
+                partial.forEach((op, recorder) ->
+                        recorder.mergeInto(results.computeIfAbsent(op, o -> new LatencyRecorder())));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        progress.shutdownNow();
+        pool.shutdown();
+        return elapsed;
+    }
+
+    private static final class Worker implements Callable<Map<Operation, LatencyRecorder>> {
+        private final String baseUrl;
+        private final List<Long> ids;
+        private final Random random;
+        private final Operation[] wheel;
+        private final long deadline;
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        Worker(String baseUrl, List<Long> ids, Random random, Map<Operation, Integer> mix, long deadline) {
+            this.baseUrl = baseUrl;
+            this.ids = ids;
+            this.random = random;
+            this.deadline = deadline;
+            List<Operation> slots = new ArrayList<>();
+            mix.forEach((op, weight) -> { for (int i = 0; i < weight; i++) slots.add(op); });
+            this.wheel = slots.toArray(new Operation[0]);
+        }
+
+        @Override
+        public Map<Operation, LatencyRecorder> call() {
+            Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+            while (System.nanoTime() < deadline) {
+                Operation op = wheel[random.nextInt(wheel.length)];
+                LatencyRecorder recorder = recorders.computeIfAbsent(op, o -> new LatencyRecorder());
+                HttpRequest request = request(op);
+                long begin = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = System.nanoTime() - begin;
+                    if (response.statusCode() >= 400) {
+                        recorder.error();
+                    } else {
+                        recorder.record(elapsed);
+                    }
+                } catch (Exception e) {
+                    recorder.error();
+                }
+            }
+            return recorders;
+        }
+
+        private HttpRequest request(Operation op) {
+            long id = ids.get(random.nextInt(ids.size()));
+            switch (op) {
+                case READ:
+                    return get(baseUrl + "/" + id);
+                case LIST:
+                    return get(baseUrl);
+                case SEARCH:
+                    String specialite = SyntheticDataset.SPECIALITES[random.nextInt(SyntheticDataset.SPECIALITES.length)];
+                    return get(baseUrl + "/recommandation?specialite=" + encode(specialite));
+                case PROXIMITY:
+                    double lat = SyntheticDataset.MIN_LAT + random.nextDouble() * (SyntheticDataset.MAX_LAT - SyntheticDataset.MIN_LAT);
+                    double lon = SyntheticDataset.MIN_LON + random.nextDouble() * (SyntheticDataset.MAX_LON - SyntheticDataset.MIN_LON);
+                    return get(baseUrl + "/proximite?latitude=" + lat + "&longitude=" + lon + "&radiusKm=25");
+                case UPDATE_BEDS:
+                default:
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/" + id + "/lits?litsOccupees=" + random.nextInt(50)))
+                            .timeout(Duration.ofSeconds(30))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build();
+            }
+        }
+
+        private static HttpRequest get(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+
+        private static String encode(String value) {
+            return java.net.URLEncoder.encode(value, java.nio.charset.StandardCharsets.UTF_8).replace("+", "%20");
+        }
+    }
+
+    private static Map<String, Object> report(Map<Operation, LatencyRecorder> results, long elapsedNanos,
+                                              int hospitals, int threads, long seed, Map<Operation, Integer> mix) {
+        double seconds = elapsedNanos / 1e9;
+        LatencyRecorder all = new LatencyRecorder();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+            entry.getValue().mergeInto(all);
+            operations.put(entry.getKey().name(), stats(entry.getValue(), seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("hospitals", hospitals);
+        report.put("threads", threads);
+        report.put("seed", seed);
+        report.put("mix", mix);
+        report.put("durationSeconds", seconds);
+        report.put("total", stats(all, seconds));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> stats(LatencyRecorder recorder, double seconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", recorder.count());
+        stats.put("errors", recorder.errors());
+        stats.put("throughputPerSecond", recorder.count() / seconds);
+        stats.put("meanMs", recorder.meanMillis());
+        stats.put("p50Ms", recorder.percentileMillis(50));
+        stats.put("p99Ms", recorder.percentileMillis(99));
+        stats.put("p999Ms", recorder.percentileMillis(99.9));
+        stats.put("maxMs", recorder.percentileMillis(100));
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> checkBudgets(Map<String, Object> report) {
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> total = (Map<String, Object>) report.get("total");
+        String p99Budget = System.getProperty("loadtest.budget.p99Ms");
+        if (p99Budget != null && (double) total.get("p99Ms") > Double.parseDouble(p99Budget)) {
+            violations.add("p99 " + total.get("p99Ms") + " ms > " + p99Budget + " ms");
+        }
+        String p999Budget = System.getProperty("loadtest.budget.p999Ms");
+        if (p999Budget != null && (double) total.get("p999Ms") > Double.parseDouble(p999Budget)) {
+            violations.add("p999 " + total.get("p999Ms") + " ms > " + p999Budget + " ms");
+        }
+        String minThroughput = System.getProperty("loadtest.budget.minThroughput");
+        if (minThroughput != null && (double) total.get("throughputPerSecond") < Double.parseDouble(minThroughput)) {
+            violations.add("débit " + total.get("throughputPerSecond") + " req/s < " + minThroughput + " req/s");
+        }
+        String maxErrors = System.getProperty("loadtest.budget.maxErrors", "0");
+        if ((long) total.get("errors") > Long.parseLong(maxErrors)) {
+            violations.add(total.get("errors") + " erreurs > " + maxErrors);
+        }
+        return violations;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            String name = kv[0].trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) mix.put(Operation.valueOf(name), weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("loadtest.mix vide");
+        return mix;
+    }
+}
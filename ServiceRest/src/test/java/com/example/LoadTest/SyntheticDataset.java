@@ -0,0 +1,61 @@
+package com.example.LoadTest;
+
+import com.example.Model.Hospital;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Jeu d'hôpitaux synthétique et reproductible (même graine = mêmes données)
+public final class SyntheticDataset {
+
+    static final String[] VILLES = {"Tunis", "Sfax", "Sousse", "Kairouan", "Bizerte", "Gabès", "Ariana",
+            "Gafsa", "Monastir", "Nabeul", "Kasserine", "Médenine", "Béja", "Jendouba", "Mahdia"};
+    static final String[] SPECIALITES = {"Cardio", "Urgences", "Pédiatrie", "Chirurgie", "Neuro",
+            "Gastro", "Infectieux", "Dermato", "Oncologie", "Maternité", "Orthopédie", "Réanimation"};
+    static final String[] TYPES = {"Public (CHU)", "Public (Régional)", "Privé (Clinique)"};
+    static final String[] SURCHARGES = {"faible", "moyen", "élevé", "critique"};
+
+    // Emprise géographique des hôpitaux générés
+    static final double MIN_LAT = 30.0, MAX_LAT = 37.3, MIN_LON = 7.5, MAX_LON = 11.6;
+
+    private SyntheticDataset() {}
+
+    public static List<Hospital> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Hospital> hospitals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Hospital h = new Hospital();
+            String ville = VILLES[random.nextInt(VILLES.length)];
+            h.setNomHopital("Hôpital synthétique " + (i + 1));
+            h.setType(TYPES[random.nextInt(TYPES.length)]);
+            h.setVille(ville);
+            h.setTelephone(String.format("+216 7%d %06d", random.nextInt(10), random.nextInt(1_000_000)));
+            h.setAdresse("Rue " + (i + 1) + ", " + ville);
+
+            int litsTotal = 50 + random.nextInt(1000);
+            int litsOccupees = random.nextInt(litsTotal + 1);
+            h.setLitsTotal(litsTotal);
+            h.setLitsOccupees(litsOccupees);
+            h.setLitsDisponibles(litsTotal - litsOccupees);
+
+            List<String> specialites = new ArrayList<>(Arrays.asList(SPECIALITES));
+            java.util.Collections.shuffle(specialites, random);
+            h.setSpecialitesPrincipales(new ArrayList<>(specialites.subList(0, 1 + random.nextInt(4))));
+
+            h.setLatitude(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT));
+            h.setLongitude(MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON));
+            h.setUrgenceOuvert(random.nextInt(10) < 8);
+            h.setTempsAttenteUrgence(5 + random.nextInt(180));
+            h.setNiveauSurcharge(SURCHARGES[random.nextInt(SURCHARGES.length)]);
+            h.setNbMedecinsDisponibles(random.nextInt(200));
+            h.setNbInfirmiersDisponibles(random.nextInt(400));
+            h.setNbAmbulancesDisponibles(random.nextInt(20));
+            h.setRespirateursDisponibles(random.nextInt(60));
+            h.setBlocOperatoireDisponible(random.nextBoolean());
+            hospitals.add(h);
+        }
+        return hospitals;
+    }
+}
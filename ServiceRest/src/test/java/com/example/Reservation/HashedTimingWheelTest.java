@@ -0,0 +1,86 @@
+package com.example.Reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void expiresAtDeadlineNotBefore() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        List<String> expired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(200, expired::add));
+        assertEquals(0, wheel.advance(299, expired::add));
+        assertEquals(1, wheel.advance(300, expired::add));
+        assertEquals(List.of("a"), expired);
+
+        // Déjà livré: un nouveau tour ne le redonne pas
+        assertEquals(0, wheel.advance(2000, expired::add));
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneRotationUntilTheirRound() {
+        // 4 cases de 10 ms: un tour = 40 ms
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        wheel.schedule("late", 95);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(50, expired::add);
+        wheel.advance(90, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 16, 1_000);
+        wheel.advance(1_500, item -> {});
+        wheel.schedule("overdue", 1_200);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(1_500, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(1_510, expired::add);
+        assertEquals(List.of("overdue"), expired);
+    }
+
+    @Test
+    void everyItemExpiresExactlyOnceWithinOneAdvance() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(5, 7, 0);
+        Random random = new Random(7);
+        long[] deadlines = new long[1_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = random.nextInt(2_000);
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        List<Integer> expired = new ArrayList<>();
+        for (long now = 0; now <= 2_100; now += 37) {
+            long current = now;
+            wheel.advance(now, item -> {
+                assertTrue(deadlines[item] <= current, "échu trop tôt: " + item);
+                assertTrue(deadlines[item] > current - 37 - 5, "échu trop tard: " + item);
+                expired.add(item);
+            });
+        }
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(deadlines.length, expired.stream().distinct().count());
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(10, 0, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.Service;
+
+import com.example.Dto.ChangeLogPage;
+import com.example.Event.HospitalChangeEvent;
+import com.example.Model.Hospital;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({ChangeLogService.class, ChangeLogServiceTest.Beans.class})
+@TestPropertySource(properties = "changelog.compaction.min-age=0s")
+class ChangeLogServiceTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+    }
+
+    @Autowired
+    private ChangeLogService changeLog;
+
+    @Test
+    void offsetsIncreaseInAppendOrder() {
+        publish(HospitalChangeEvent.Type.CREATED, 1L, 10);
+        publish(HospitalChangeEvent.Type.CREATED, 2L, 20);
+        publish(HospitalChangeEvent.Type.BEDS_UPDATED, 1L, 9);
+        publish(HospitalChangeEvent.Type.RESOURCES_UPDATED, 2L, 20);
+
+        ChangeLogPage page = changeLog.getChanges(0, 100);
+
+        List<ChangeLogPage.Entry> entries = page.changes();
+        assertEquals(4, entries.size());
+        for (int i = 1; i < entries.size(); i++) {
+            assertEquals(entries.get(i - 1).offset() + 1, entries.get(i).offset());
+        }
+        assertEquals(List.of(1L, 2L, 1L, 2L), entries.stream().map(ChangeLogPage.Entry::hospitalId).toList());
+        assertEquals(entries.get(3).offset(), page.nextOffset());
+        assertEquals(page.nextOffset(), page.headOffset());
+        assertEquals(changeLog.getEpoch(), page.epoch());
+    }
+
+    @Test
+    void pagesResumeAfterNextOffset() {
+        for (long id = 1; id <= 5; id++) {
+            publish(HospitalChangeEvent.Type.CREATED, id, 10);
+        }
+
+        ChangeLogPage first = changeLog.getChanges(0, 2);
+        ChangeLogPage rest = changeLog.getChanges(first.nextOffset(), 100);
+
+        assertEquals(List.of(1L, 2L), first.changes().stream().map(ChangeLogPage.Entry::hospitalId).toList());
+        assertEquals(List.of(3L, 4L, 5L), rest.changes().stream().map(ChangeLogPage.Entry::hospitalId).toList());
+        assertEquals(rest.headOffset(), rest.nextOffset());
+        assertTrue(changeLog.getChanges(rest.nextOffset(), 100).changes().isEmpty());
+    }
+
+    @Test
+    void compactionKeepsTheLatestEntryOfEachHospital() throws InterruptedException {
+        publish(HospitalChangeEvent.Type.CREATED, 1L, 10);
+        publish(HospitalChangeEvent.Type.CREATED, 2L, 20);
+        publish(HospitalChangeEvent.Type.BEDS_UPDATED, 1L, 8);
+        publish(HospitalChangeEvent.Type.CREATED, 3L, 30);
+        publish(HospitalChangeEvent.Type.DELETED, 2L, 0);
+        publish(HospitalChangeEvent.Type.UPDATED, 1L, 7);
+        long head = changeLog.getHeadOffset();
+        Thread.sleep(5); // min-age=0s: toutes les entrées sont antérieures à la compaction
+
+        changeLog.compact();
+
+        List<ChangeLogPage.Entry> entries = changeLog.getChanges(0, 100).changes();
+        assertEquals(List.of(3L, 2L, 1L), entries.stream().map(ChangeLogPage.Entry::hospitalId).toList());
+        assertEquals(List.of("CREATED", "DELETED", "UPDATED"), entries.stream().map(ChangeLogPage.Entry::type).toList());
+        assertNull(entries.get(1).hospital());
+        assertTrue(entries.get(2).hospital().contains("\"litsDisponibles\":7"));
+        // Les offsets survivants et la tête ne bougent pas: un consommateur à jour n'est pas affecté
+        assertEquals(head, changeLog.getHeadOffset());
+        assertEquals(head, entries.get(2).offset());
+    }
+
+    private void publish(HospitalChangeEvent.Type type, Long id, int litsDisponibles) {
+        Hospital hospital = new Hospital();
+        hospital.setId(id);
+        hospital.setNomHopital("Hôpital " + id);
+        hospital.setLitsDisponibles(litsDisponibles);
+        changeLog.onHospitalChange(HospitalChangeEvent.local(type, hospital));
+    }
+}
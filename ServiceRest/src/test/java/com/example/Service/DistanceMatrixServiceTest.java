@@ -0,0 +1,104 @@
+package com.example.Service;
+
+import com.example.Event.HospitalChangeEvent;
+import com.example.Event.HospitalDataLoadedEvent;
+import com.example.Model.Hospital;
+import com.example.Repository.HospitalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DistanceMatrixServiceTest {
+
+    private static final int K = 8;
+    private static final double MAX_KM = 150;
+
+    private final List<Hospital> hospitals = new ArrayList<>();
+    private DistanceMatrixService service;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        for (long id = 1; id <= 400; id++) {
+            // Métropole avec une zone dense et quelques points isolés
+            double lat = id % 10 == 0 ? 42 + random.nextDouble() * 9 : 48.5 + random.nextDouble() * 0.8;
+            double lon = id % 10 == 0 ? -4 + random.nextDouble() * 12 : 2 + random.nextDouble() * 0.8;
+            hospitals.add(hospital(id, lat, lon));
+        }
+        HospitalRepository repository = mock(HospitalRepository.class);
+        when(repository.findAll()).thenReturn(hospitals);
+
+        service = new DistanceMatrixService();
+        ReflectionTestUtils.setField(service, "hospitalRepository", repository);
+        ReflectionTestUtils.setField(service, "maxNeighbours", K);
+        ReflectionTestUtils.setField(service, "maxDistanceKm", MAX_KM);
+        ReflectionTestUtils.setField(service, "cellSize", 0.25);
+        service.onDataLoaded(new HospitalDataLoadedEvent(hospitals.size()));
+    }
+
+    @Test
+    void gridBuildMatchesBruteForce() {
+        for (Hospital h : hospitals) {
+            assertNeighbours(h);
+        }
+    }
+
+    @Test
+    void movedHospitalKeepsListsConsistent() {
+        Hospital moved = hospitals.get(10);
+        moved.setLatitude(48.9);
+        moved.setLongitude(2.4);
+        service.onHospitalChange(HospitalChangeEvent.local(HospitalChangeEvent.Type.UPDATED, moved));
+
+        for (Hospital h : hospitals) {
+            assertNeighbours(h);
+        }
+    }
+
+    @Test
+    void deletedHospitalDisappearsFromLists() {
+        Hospital deleted = hospitals.remove(0);
+        service.onHospitalChange(new HospitalChangeEvent(HospitalChangeEvent.Type.DELETED, deleted.getId(), null, false));
+
+        assertEquals(0, service.getNeighbours(deleted.getId()).size());
+        for (Hospital h : hospitals) {
+            assertNeighbours(h);
+        }
+    }
+
+    private void assertNeighbours(Hospital origin) {
+        long[] expected = hospitals.stream()
+                .filter(other -> !other.getId().equals(origin.getId()))
+                .filter(other -> distance(origin, other) <= MAX_KM)
+                .sorted(Comparator.comparingDouble(other -> distance(origin, other)))
+                .limit(K)
+                .mapToLong(Hospital::getId)
+                .toArray();
+        long[] actual = service.getNeighbours(origin.getId()).ids();
+        assertArrayEquals(expected, actual, () -> "hôpital " + origin.getId() + ": " + Arrays.toString(actual));
+    }
+
+    private static double distance(Hospital a, Hospital b) {
+        return GeoDistance.haversineKm(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude());
+    }
+
+    private static Hospital hospital(long id, double lat, double lon) {
+        Hospital h = new Hospital();
+        h.setId(id);
+        h.setNomHopital("H" + id);
+        h.setLatitude(lat);
+        h.setLongitude(lon);
+        return h;
+    }
+}
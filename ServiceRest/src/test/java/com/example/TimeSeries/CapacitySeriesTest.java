@@ -0,0 +1,110 @@
+package com.example.TimeSeries;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CapacitySeriesTest {
+
+    private static final long HOUR = 3600;
+
+    @Test
+    void averagesAreWeightedByTimeHeld() {
+        CapacitySeries series = new CapacitySeries();
+        series.record(0, 10);
+        series.record(HOUR - 60, 100); // pic sur la dernière minute
+
+        List<HistoryPoint> points = series.query(Resolution.HOUR, 0, HOUR - 1, HOUR);
+
+        assertEquals(1, points.size());
+        HistoryPoint point = points.get(0);
+        assertEquals((10.0 * (HOUR - 60) + 100.0 * 60) / HOUR, point.avg(), 1e-9);
+        assertEquals(10, point.min());
+        assertEquals(100, point.max());
+        assertEquals(2, point.count());
+        assertEquals(100, point.last());
+    }
+
+    @Test
+    void closedBucketsCountTheValueCarriedFromThePreviousBucket() {
+        CapacitySeries series = new CapacitySeries();
+        series.record(0, 4);
+        series.record(HOUR + HOUR / 2, 8); // 4 tenu pendant la première moitié de la 2e heure
+        series.record(2 * HOUR, 8 + 1);
+
+        List<HistoryPoint> points = series.query(Resolution.HOUR, HOUR, HOUR, 3 * HOUR);
+
+        assertEquals(1, points.size());
+        assertEquals(6.0, points.get(0).avg(), 1e-9);
+        assertEquals(4, points.get(0).min());
+        assertEquals(8, points.get(0).max());
+    }
+
+    @Test
+    void bucketsWithoutChangesReportTheCarriedValue() {
+        CapacitySeries series = new CapacitySeries();
+        series.record(0, 5);
+        series.record(2 * HOUR, 7);
+
+        List<HistoryPoint> points = series.query(Resolution.HOUR, HOUR, 4 * HOUR, 3 * HOUR + 10);
+
+        // 1h: reportée (5), 2h: changement, 3h: reportée (7), rien au-delà de maintenant
+        assertEquals(3, points.size());
+        assertEquals(HOUR, points.get(0).timestamp().getEpochSecond());
+        assertEquals(0, points.get(0).count());
+        assertEquals(5.0, points.get(0).avg(), 1e-9);
+        assertEquals(1, points.get(1).count());
+        assertEquals(7.0, points.get(1).avg(), 1e-9);
+        assertEquals(3 * HOUR, points.get(2).timestamp().getEpochSecond());
+        assertEquals(0, points.get(2).count());
+        assertEquals(7, points.get(2).last());
+    }
+
+    @Test
+    void closedSeriesIsNotCarriedPastItsEnd() {
+        CapacitySeries series = new CapacitySeries();
+        series.record(0, 5);
+        series.close(HOUR / 2);
+
+        List<HistoryPoint> points = series.query(Resolution.HOUR, 0, 5 * HOUR, 5 * HOUR);
+
+        assertEquals(1, points.size());
+        assertEquals(5.0, points.get(0).avg(), 1e-9);
+        assertEquals(HOUR / 2, series.getClosedAt());
+    }
+
+    @Test
+    void rawPointsAreTheChangesOnly() {
+        CapacitySeries series = new CapacitySeries();
+        assertEquals(true, series.recordIfChanged(0, 3));
+        assertEquals(false, series.recordIfChanged(10, 3));
+        assertEquals(true, series.recordIfChanged(20, 4));
+
+        assertEquals(2, series.query(Resolution.RAW, 0, 100, 100).size());
+    }
+
+    @Test
+    void roundTripKeepsOpenBucketsAndClosure() throws IOException {
+        CapacitySeries series = new CapacitySeries();
+        series.record(0, 5);
+        series.record(HOUR + 30, 9);
+        series.close(HOUR + 90);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        series.writeTo(new DataOutputStream(bytes));
+        CapacitySeries copy = CapacitySeries.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        for (Resolution resolution : Resolution.values()) {
+            assertEquals(series.query(resolution, 0, 10 * HOUR, 10 * HOUR),
+                    copy.query(resolution, 0, 10 * HOUR, 10 * HOUR));
+        }
+        assertEquals(HOUR + 90, copy.getClosedAt());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.TimeSeries;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeltaChunkTest {
+
+    @Test
+    void decodesWhatWasAppended() {
+        List<long[]> rows = randomRows(500, 3, 42L);
+        DeltaChunk chunk = new DeltaChunk(3);
+        rows.forEach(chunk::append);
+
+        assertRows(rows, decode(chunk, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        List<long[]> rows = List.of(
+                new long[]{0, Long.MAX_VALUE},
+                new long[]{1, Long.MIN_VALUE},
+                new long[]{1, 0},
+                new long[]{1_000_000_000L, -1},
+                new long[]{1_000_000_001L, Integer.MAX_VALUE});
+        DeltaChunk chunk = new DeltaChunk(2);
+        rows.forEach(chunk::append);
+
+        assertRows(rows, decode(chunk, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void survivesSerializationAndKeepsAppending() throws IOException {
+        List<long[]> rows = randomRows(300, 6, 7L);
+        DeltaChunk chunk = new DeltaChunk(6);
+        rows.subList(0, 200).forEach(chunk::append);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        chunk.writeTo(new DataOutputStream(bytes));
+        DeltaChunk restored = DeltaChunk.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        rows.subList(200, 300).forEach(restored::append);
+
+        assertEquals(300, restored.getRows());
+        assertEquals(rows.get(0)[0], restored.getFirstTimestamp());
+        assertEquals(rows.get(299)[0], restored.getLastTimestamp());
+        assertRows(rows, decode(restored, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void filtersOnTimestampRange() {
+        List<long[]> rows = randomRows(100, 2, 1L);
+        DeltaChunk chunk = new DeltaChunk(2);
+        rows.forEach(chunk::append);
+
+        long from = rows.get(20)[0];
+        long to = rows.get(59)[0];
+        List<long[]> expected = rows.stream().filter(r -> r[0] >= from && r[0] <= to).toList();
+
+        assertRows(expected, decode(chunk, from, to));
+    }
+
+    // Timestamps croissants à pas irrégulier, valeurs qui montent et descendent
+    private static List<long[]> randomRows(int count, int columns, long seed) {
+        Random random = new Random(seed);
+        List<long[]> rows = new ArrayList<>(count);
+        long timestamp = 1_700_000_000L;
+        long[] previous = new long[columns];
+        for (int r = 0; r < count; r++) {
+            timestamp += random.nextInt(3) == 0 ? random.nextInt(100_000) : 60;
+            long[] row = new long[columns];
+            row[0] = timestamp;
+            for (int i = 1; i < columns; i++) {
+                row[i] = previous[i] + random.nextInt(2001) - 1000;
+            }
+            previous = row;
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<long[]> decode(DeltaChunk chunk, long from, long to) {
+        List<long[]> decoded = new ArrayList<>();
+        chunk.forEach(from, to, decoded::add);
+        return decoded;
+    }
+
+    private static void assertRows(List<long[]> expected, List<long[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), "ligne " + i);
+        }
+    }
+}